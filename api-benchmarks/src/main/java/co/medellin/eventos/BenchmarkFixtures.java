@@ -0,0 +1,76 @@
+package co.medellin.eventos;
+
+import co.medellin.eventos.dto.CommentDto;
+import co.medellin.eventos.dto.EventSummaryDto;
+import co.medellin.eventos.model.Comment;
+import co.medellin.eventos.model.Event;
+import co.medellin.eventos.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Realistically sized sample data shared by the benchmarks.
+ */
+public final class BenchmarkFixtures {
+    public static final String JWT_SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    public static final long JWT_EXPIRATION_MS = 3_600_000;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 18, 19, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user() {
+        return new User(42L, "Valentina Restrepo", "vrestrepo", "vrestrepo@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3sEhbIw4uGvLHnDgoakyC.u", "USER", true, BASE, BASE);
+    }
+
+    public static Event event(long id) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle("Festival de Flores en el Parque Explora #" + id);
+        event.setDescription("Desfile de silleteros, música en vivo y muestras gastronómicas. ".repeat(8));
+        event.setStartsAt(BASE.plusDays(id % 30));
+        event.setEndsAt(BASE.plusDays(id % 30).plusHours(4));
+        event.setLocationText("Carrera 52 #73-75, Medellín");
+        event.setImageUrl("https://cdn.example.com/events/" + id + ".jpg");
+        event.setLatitude(6.2710);
+        event.setLongitude(-75.5656);
+        event.setCreatedBy(42L);
+        event.setCreatedAt(BASE.minusDays(7));
+        event.setUpdatedAt(BASE.minusDays(1));
+        event.setViewCount(1_250 + id);
+        event.setCommentCount(37);
+        return event;
+    }
+
+    public static EventSummaryDto summary(long id) {
+        return new EventSummaryDto(id, "Festival de Flores en el Parque Explora #" + id,
+                BASE.plusDays(id % 30), BASE.plusDays(id % 30).plusHours(4), "Carrera 52 #73-75, Medellín",
+                "https://cdn.example.com/events/" + id + ".jpg", BASE.minusDays(1), 1_250 + id, 37);
+    }
+
+    public static Comment comment(long id, Comment parent) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setContent("¡Qué buen evento! Nos vemos allá con toda la familia.");
+        comment.setAuthor(42L);
+        comment.setEvent(7L);
+        comment.setParent(parent);
+        comment.setCreatedAt(BASE.minusHours(id % 48));
+        comment.setUpdatedAt(BASE.minusHours(id % 48));
+        return comment;
+    }
+
+    public static CommentDto commentDto(long id) {
+        CommentDto dto = new CommentDto();
+        dto.setId(id);
+        dto.setContent("¡Qué buen evento! Nos vemos allá con toda la familia.");
+        dto.setAuthorId(42L);
+        dto.setEventId(7L);
+        dto.setParentId(id % 3 == 0 ? null : id - 1);
+        dto.setCreatedAt(BASE.minusHours(id % 48));
+        dto.setUpdatedAt(BASE.minusHours(id % 48));
+        return dto;
+    }
+}
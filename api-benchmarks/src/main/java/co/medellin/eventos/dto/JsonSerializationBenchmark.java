@@ -0,0 +1,73 @@
+package co.medellin.eventos.dto;
+
+import co.medellin.eventos.BenchmarkFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies as MappingJackson2HttpMessageConverter writes them, at the page sizes the API serves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    @Param({"10", "20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<EventSummaryDto> summaries;
+    private CursorPage<EventSummaryDto> summaryPage;
+    private CursorPage<CommentDto> commentPage;
+
+    @Setup
+    public void setUp() {
+        // Same settings Spring Boot's JacksonAutoConfiguration applies
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+        summaries = new ArrayList<>(pageSize);
+        List<CommentDto> comments = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            summaries.add(BenchmarkFixtures.summary(id));
+            comments.add(BenchmarkFixtures.commentDto(id));
+        }
+        summaryPage = new CursorPage<>(summaries, "MjAyNi0xMC0xOFQxOTozMHw0Mg");
+        commentPage = new CursorPage<>(comments, "MjAyNi0xMC0xOFQxOTozMHw0Mg");
+    }
+
+    @Benchmark
+    public byte[] eventSummaryList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] eventSummaryCursorPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+
+    @Benchmark
+    public byte[] commentCursorPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(commentPage);
+    }
+}
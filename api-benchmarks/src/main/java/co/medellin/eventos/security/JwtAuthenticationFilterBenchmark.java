@@ -0,0 +1,132 @@
+package co.medellin.eventos.security;
+
+import co.medellin.eventos.BenchmarkFixtures;
+import co.medellin.eventos.model.User;
+import co.medellin.eventos.repository.UserRepository;
+import co.medellin.eventos.repository.UserStatusView;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of {@link JwtAuthenticationFilter#doFilterInternal} per invocation, with the database
+ * replaced by stubs: the user-status cache is warm and {@link UserDetailsService} answers from memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest claimsRequest;
+    private MockHttpServletRequest legacyRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletRequest invalidRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user();
+        JwtService jwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, BenchmarkFixtures.JWT_EXPIRATION_MS, 10_000);
+        UserDetailsService userDetailsService = username -> user;
+        UserStatusCache userStatusCache = new UserStatusCache(stubUserRepository(user), Duration.ofHours(1), 1_000);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "userStatusCache", userStatusCache);
+
+        // A plain UserDetails yields a token without uid/role, i.e. the legacy UserDetailsService path
+        String legacyToken = jwtService.generateToken(org.springframework.security.core.userdetails.User
+                .withUsername(user.getUsername()).password(user.getPassword()).roles(user.getRole()).build());
+        claimsRequest = request("Bearer " + jwtService.generateToken(user));
+        legacyRequest = request("Bearer " + legacyToken);
+        anonymousRequest = request(null);
+        invalidRequest = request("Bearer " + legacyToken.substring(0, legacyToken.length() - 4) + "AAAA");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication bearerWithClaims() throws ServletException, IOException {
+        return filter(claimsRequest);
+    }
+
+    @Benchmark
+    public Authentication bearerLegacy() throws ServletException, IOException {
+        return filter(legacyRequest);
+    }
+
+    @Benchmark
+    public Authentication noAuthorizationHeader() throws ServletException, IOException {
+        return filter(anonymousRequest);
+    }
+
+    @Benchmark
+    public Authentication invalidSignature() throws ServletException, IOException {
+        return filter(invalidRequest);
+    }
+
+    private Authentication filter(MockHttpServletRequest request) throws ServletException, IOException {
+        try {
+            filter.doFilterInternal(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/comments/event/7");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+
+    private static UserRepository stubUserRepository(User user) {
+        UserStatusView status = new UserStatusView() {
+            @Override
+            public Boolean getIsActive() {
+                return user.getIsActive();
+            }
+
+            @Override
+            public String getRole() {
+                return user.getRole();
+            }
+        };
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findStatusById")) {
+                        return Optional.of(status);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
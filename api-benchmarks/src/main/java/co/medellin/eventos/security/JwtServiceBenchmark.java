@@ -0,0 +1,54 @@
+package co.medellin.eventos.security;
+
+import co.medellin.eventos.BenchmarkFixtures;
+import co.medellin.eventos.model.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    // jwt.cache.maximum-size=0: every parse verifies the signature
+    private JwtService uncachedJwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, BenchmarkFixtures.JWT_EXPIRATION_MS, 10_000);
+        uncachedJwtService = new JwtService(BenchmarkFixtures.JWT_SECRET, BenchmarkFixtures.JWT_EXPIRATION_MS, 0);
+        user = BenchmarkFixtures.user();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseClaimsCached() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseClaimsUncached() {
+        return uncachedJwtService.parseClaims(token);
+    }
+}
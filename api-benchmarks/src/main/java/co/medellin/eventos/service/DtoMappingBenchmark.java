@@ -0,0 +1,70 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.BenchmarkFixtures;
+import co.medellin.eventos.dto.CommentDto;
+import co.medellin.eventos.dto.EventDto;
+import co.medellin.eventos.model.Comment;
+import co.medellin.eventos.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity/DTO conversions of EventService and CommentService over a page of rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<Event> events;
+    private List<EventDto> eventDtos;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        events = new ArrayList<>(pageSize);
+        comments = new ArrayList<>(pageSize);
+        Comment parent = null;
+        for (long id = 1; id <= pageSize; id++) {
+            events.add(BenchmarkFixtures.event(id));
+            Comment comment = BenchmarkFixtures.comment(id, id % 3 == 0 ? null : parent);
+            comments.add(comment);
+            parent = comment;
+        }
+        eventDtos = events.stream().map(EventService::toDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<EventDto> eventsToDto() {
+        return events.stream().map(EventService::toDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Event> dtosToEvent() {
+        return eventDtos.stream().map(EventService::toEntity).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<CommentDto> commentsToDto() {
+        return comments.stream().map(CommentService::toDto).collect(Collectors.toList());
+    }
+}
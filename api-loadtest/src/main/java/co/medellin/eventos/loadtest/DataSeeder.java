@@ -0,0 +1,93 @@
+package co.medellin.eventos.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+/**
+ * Fills the empty database with production-like volumes in a handful of set-based statements:
+ * users, events spread a year around today, comments with replies, and matching comment counts.
+ */
+final class DataSeeder {
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    static final String PASSWORD = "LoadTest123!";
+
+    record SeededUser(long id, String username) {
+    }
+
+    record SeededData(List<SeededUser> users, long[] eventIds) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    DataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    SeededData seed(LoadTestSettings.Seed seed, int virtualUsers) {
+        long started = System.currentTimeMillis();
+        // One hash for everybody: hashing per row would dominate the seeding time
+        int users = jdbcTemplate.update("""
+                INSERT INTO users (name, username, email, password_hash, role, is_active, created_at, updated_at)
+                SELECT 'Usuario ' || g, 'user' || g, 'user' || g || '@loadtest.local', ?,
+                       CASE WHEN g <= ? THEN 'ADMIN' ELSE 'USER' END, TRUE,
+                       now() - g * interval '1 minute', now()
+                FROM generate_series(1, ?) g
+                """, passwordEncoder.encode(PASSWORD), seed.adminUsers(), seed.users());
+        int events = jdbcTemplate.update("""
+                INSERT INTO events (title, description, starts_at, ends_at, location_text, image_url,
+                                    latitude, longitude, created_by, is_active, created_at, updated_at)
+                SELECT (ARRAY['Festival', 'Concierto', 'Feria', 'Taller', 'Exposición', 'Clásico', 'Caminata', 'Cine al parque'])[1 + g % 8]
+                           || ' de ' || (ARRAY['flores', 'salsa', 'jazz', 'arte urbano', 'café', 'tango', 'ciencia', 'graffiti'])[1 + (g / 8) % 8]
+                           || ' #' || g,
+                       repeat('Plan para toda la familia en Medellín con música en vivo, comida típica y actividades culturales. ', 1 + g % 5),
+                       t.starts_at, t.starts_at + interval '3 hours',
+                       (ARRAY['Parque Explora', 'Plaza Botero', 'Pueblito Paisa', 'Comuna 13', 'Parque Arví', 'Jardín Botánico', 'El Poblado', 'Laureles'])[1 + g % 8],
+                       'https://cdn.example.com/events/' || g || '.jpg',
+                       6.2442 + (random() - 0.5) * 0.12, -75.5812 + (random() - 0.5) * 0.12,
+                       u.first_id + g % u.total, TRUE, t.starts_at - interval '30 days', t.starts_at - interval '30 days'
+                FROM generate_series(1, ?) g
+                CROSS JOIN (SELECT min(id) AS first_id, count(*) AS total FROM users) u
+                CROSS JOIN LATERAL (SELECT date_trunc('hour', now()) + ((g % 360) - 180) * interval '1 day'
+                                           + (g % 12) * interval '1 hour' AS starts_at) t
+                """, seed.events());
+        int comments = jdbcTemplate.update("""
+                INSERT INTO comments (content, deleted, created_at, updated_at, author_id, event_id)
+                SELECT (ARRAY['¡Qué buen plan!', '¿A qué hora abren las puertas?', 'Fuimos el año pasado y estuvo increíble.',
+                              '¿Hay parqueadero cerca?', 'Nos vemos allá con toda la familia.'])[1 + (e.id + g) % 5],
+                       FALSE, e.created_at + g * interval '7 minutes', e.created_at + g * interval '7 minutes',
+                       u.first_id + (e.id * 31 + g) % u.total, e.id
+                FROM events e
+                CROSS JOIN generate_series(1, ?) g
+                CROSS JOIN (SELECT min(id) AS first_id, count(*) AS total FROM users) u
+                """, seed.commentsPerEvent());
+        int replies = jdbcTemplate.update("""
+                INSERT INTO comments (content, deleted, created_at, updated_at, author_id, event_id, parent_id)
+                SELECT 'Totalmente de acuerdo, allá nos vemos.', FALSE, c.created_at + interval '1 hour',
+                       c.created_at + interval '1 hour', c.author_id, c.event_id, c.id
+                FROM comments c
+                WHERE random() < 0.2
+                """);
+        jdbcTemplate.update("""
+                UPDATE events e SET comment_count = c.total
+                FROM (SELECT event_id, count(*) AS total FROM comments WHERE NOT deleted GROUP BY event_id) c
+                WHERE e.id = c.event_id
+                """);
+        // Sets hint bits and the visibility map now, so autovacuum does not kick in mid-run
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        log.info("Seeded {} users, {} events, {} comments and {} replies in {} ms",
+                users, events, comments, replies, System.currentTimeMillis() - started);
+
+        List<SeededUser> virtualUserAccounts = jdbcTemplate.query("SELECT id, username FROM users ORDER BY id LIMIT ?",
+                (rs, row) -> new SeededUser(rs.getLong("id"), rs.getString("username")), virtualUsers);
+        long[] eventIds = jdbcTemplate.queryForList("SELECT id FROM events ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+        return new SeededData(virtualUserAccounts, eventIds);
+    }
+}
@@ -0,0 +1,20 @@
+package co.medellin.eventos.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The user journeys the driver replays; keys of {@code loadtest.mix} and {@code loadtest.slo.endpoints}.
+ */
+enum Endpoint {
+    LIST_EVENTS,
+    OPEN_EVENT,
+    READ_COMMENTS,
+    POST_COMMENT,
+    LOGIN,
+    SAVE_EVENT,
+    IMPORT_EVENTS;
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
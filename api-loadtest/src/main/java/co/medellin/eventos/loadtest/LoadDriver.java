@@ -0,0 +1,338 @@
+package co.medellin.eventos.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code loadtest.concurrency} virtual users first log in as their own seeded account. With a
+ * {@code loadtest.rate} the run is an open model: a fixed schedule of arrivals drawn from the weighted
+ * mix is queued for whichever user is free, and latency counts from the scheduled time, so a stall is
+ * charged to every request it held back instead of silently slowing the senders down (no coordinated
+ * omission). With rate 0 each user sends back to back, which measures saturation throughput only.
+ * Only requests scheduled after the warmup are recorded. Each user keeps its own histograms, merged at the end.
+ */
+final class LoadDriver {
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGES_PER_BROWSE = 10;
+    private static final Duration LOGIN_RETRY_BACKOFF = Duration.ofMillis(500);
+    private static final Duration LOGIN_PHASE_TIMEOUT = Duration.ofMinutes(2);
+
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final DataSeeder.SeededData data;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Endpoint[] weightedEndpoints;
+
+    LoadDriver(URI baseUri, LoadTestSettings settings, DataSeeder.SeededData data) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.data = data;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool(new CustomizableThreadFactory("loadtest-http-")))
+                .build();
+        List<Endpoint> weighted = new ArrayList<>();
+        settings.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalStateException("loadtest.mix has no positive weight");
+        }
+        this.weightedEndpoints = weighted.toArray(Endpoint[]::new);
+    }
+
+    LoadReport run() throws InterruptedException {
+        List<VirtualUser> users = new ArrayList<>(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            users.add(new VirtualUser(data.users().get(i % data.users().size())));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(settings.concurrency(), new CustomizableThreadFactory("loadtest-vu-"));
+        // Sessions first: logging in while the mix already runs only measures how long the BCrypt queue is
+        long loggedIn = 0;
+        for (Future<Boolean> session : pool.invokeAll(users.stream().map(user -> (Callable<Boolean>) user::logIn).toList(),
+                LOGIN_PHASE_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            try {
+                loggedIn += !session.isCancelled() && session.get() ? 1 : 0;
+            } catch (ExecutionException e) {
+                log.warn("Virtual user login failed", e.getCause());
+            }
+        }
+        if (loggedIn < users.size()) {
+            pool.shutdownNow();
+            throw new IllegalStateException((users.size() - loggedIn) + " virtual users could not log in within " + LOGIN_PHASE_TIMEOUT);
+        }
+
+        long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        BlockingQueue<Arrival> arrivals = new LinkedBlockingQueue<>();
+        users.forEach(user -> pool.execute(() -> user.run(arrivals, measureFrom, end)));
+        log.info("{} virtual users running at {}: {} warmup, then {} measured", settings.concurrency(),
+                settings.rate() > 0 ? settings.rate() + " req/s" : "saturation", settings.warmup(), settings.duration());
+        if (settings.rate() > 0) {
+            schedule(arrivals, end);
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(settings.warmup().plus(settings.duration()).toSeconds() + 60, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+
+        Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, Long> shed = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, Long> rows = new EnumMap<>(Endpoint.class);
+        for (VirtualUser user : users) {
+            user.latencies.forEach((endpoint, histogram) -> latencies.computeIfAbsent(endpoint, e -> new Histogram(3)).add(histogram));
+            user.errors.forEach((endpoint, count) -> errors.merge(endpoint, count, Long::sum));
+            user.shed.forEach((endpoint, count) -> shed.merge(endpoint, count, Long::sum));
+            user.rows.forEach((endpoint, count) -> rows.merge(endpoint, count, Long::sum));
+        }
+        // Still queued when the pool gave up: dropping them would hide exactly the backlog a stall built
+        List<Arrival> unsent = new ArrayList<>();
+        arrivals.drainTo(unsent);
+        unsent.stream()
+                .filter(arrival -> arrival != Arrival.END && arrival.scheduledAt() >= measureFrom)
+                .forEach(arrival -> errors.merge(arrival.endpoint(), 1L, Long::sum));
+        return LoadReport.of(settings.duration(), latencies, errors, shed, rows);
+    }
+
+    // Arrivals keep their schedule however slow the answers are; one END per user closes the queue
+    private void schedule(BlockingQueue<Arrival> arrivals, long end) throws InterruptedException {
+        long start = System.nanoTime();
+        double intervalNanos = 1_000_000_000.0 / settings.rate();
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + (long) (i * intervalNanos);
+            if (scheduledAt >= end) {
+                break;
+            }
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            arrivals.add(new Arrival(pickEndpoint(), scheduledAt));
+        }
+        for (int i = 0; i < settings.concurrency(); i++) {
+            arrivals.add(Arrival.END);
+        }
+    }
+
+    private Endpoint pickEndpoint() {
+        return weightedEndpoints[ThreadLocalRandom.current().nextInt(weightedEndpoints.length)];
+    }
+
+    private record Arrival(Endpoint endpoint, long scheduledAt) {
+        private static final Arrival END = new Arrival(null, 0);
+    }
+
+    private final class VirtualUser {
+        private final DataSeeder.SeededUser account;
+        private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Long> shed = new EnumMap<>(Endpoint.class);
+        private final Map<Endpoint, Long> rows = new EnumMap<>(Endpoint.class);
+        private String accessToken;
+        private String cursor = "";
+        private int pagesBrowsed;
+        private long measureFrom;
+        private int lastStatus;
+
+        private VirtualUser(DataSeeder.SeededUser account) {
+            this.account = account;
+        }
+
+        // Not recorded; a shed (503) or failed login backs off like a client would instead of spinning
+        private boolean logIn() throws InterruptedException {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    if (login()) {
+                        return true;
+                    }
+                } catch (IOException e) {
+                    log.debug("Login of {} failed, retrying", account.username(), e);
+                }
+                Thread.sleep(LOGIN_RETRY_BACKOFF.toMillis());
+            }
+            return false;
+        }
+
+        private void run(BlockingQueue<Arrival> arrivals, long measureFrom, long end) {
+            this.measureFrom = measureFrom;
+            try {
+                if (settings.rate() > 0) {
+                    // Drains what was scheduled before the end, so a backlog is measured rather than dropped
+                    for (Arrival arrival = arrivals.take(); arrival != Arrival.END; arrival = arrivals.take()) {
+                        execute(arrival.endpoint(), arrival.scheduledAt());
+                    }
+                } else {
+                    while (System.nanoTime() < end) {
+                        execute(pickEndpoint(), System.nanoTime());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void execute(Endpoint endpoint, long scheduledAt) throws InterruptedException {
+            boolean ok;
+            lastStatus = 0;
+            try {
+                ok = switch (endpoint) {
+                    case LIST_EVENTS -> listEvents();
+                    case OPEN_EVENT -> send(get("/api/events/" + pickEvent())).statusCode() == 200;
+                    case READ_COMMENTS -> send(get("/api/comments/event/" + pickEvent() + "?size=" + PAGE_SIZE)).statusCode() == 200;
+                    case POST_COMMENT -> postComment();
+                    case LOGIN -> login();
+                    case SAVE_EVENT -> send(post("/api/events/save", objectMapper.writeValueAsString(newEvent()))).statusCode() == 200;
+                    case IMPORT_EVENTS -> importEvents();
+                };
+            } catch (IOException e) {
+                ok = false;
+            }
+            if (scheduledAt < measureFrom) {
+                return;
+            }
+            if (ok) {
+                latencies.computeIfAbsent(endpoint, e -> new Histogram(3))
+                        .recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt));
+                rows.merge(endpoint, endpoint == Endpoint.IMPORT_EVENTS ? settings.importRows() : 1L, Long::sum);
+            } else if (endpoint == Endpoint.LOGIN && lastStatus == 503) {
+                // The BCrypt queue being full is the designed answer to a login storm, not a failure;
+                // a 503 anywhere else is an error
+                shed.merge(endpoint, 1L, Long::sum);
+            } else {
+                errors.merge(endpoint, 1L, Long::sum);
+            }
+        }
+
+        // Browses the keyset-paged list, a few pages deep, then starts over
+        private boolean listEvents() throws IOException, InterruptedException {
+            HttpResponse<String> response = send(get("/api/events?size=" + PAGE_SIZE + "&cursor="
+                    + URLEncoder.encode(cursor, StandardCharsets.UTF_8)));
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            JsonNode next = objectMapper.readTree(response.body()).path("nextCursor");
+            boolean restart = next.isNull() || next.isMissingNode() || ++pagesBrowsed >= MAX_PAGES_PER_BROWSE;
+            cursor = restart ? "" : next.asText();
+            pagesBrowsed = restart ? 0 : pagesBrowsed;
+            return true;
+        }
+
+        private boolean postComment() throws IOException, InterruptedException {
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "content", "¡Allá nos vemos! Comentario de carga de " + account.username(),
+                    "authorId", account.id(),
+                    "eventId", pickEvent()));
+            return send(post("/api/comments/save", body)).statusCode() == 200;
+        }
+
+        // One NDJSON body of loadtest.import-rows events; any rejected row fails the request
+        private boolean importEvents() throws IOException, InterruptedException {
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < settings.importRows(); i++) {
+                body.append(objectMapper.writeValueAsString(newEvent())).append('\n');
+            }
+            HttpResponse<String> response = send(request("/api/events/import")
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString())));
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            JsonNode report = objectMapper.readTree(response.body());
+            return report.path("imported").asLong() == settings.importRows() && report.path("failed").asLong() == 0;
+        }
+
+        private Map<String, Object> newEvent() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LocalDateTime startsAt = LocalDateTime.now().plusDays(random.nextInt(1, 180)).withNano(0);
+            String now = LocalDateTime.now().toString();
+            return Map.ofEntries(
+                    Map.entry("title", "Evento importado por " + account.username()),
+                    Map.entry("description", "Plan cargado por la prueba de importación masiva."),
+                    Map.entry("startsAt", startsAt.toString()),
+                    Map.entry("endsAt", startsAt.plusHours(3).toString()),
+                    Map.entry("locationText", "Parque Explora"),
+                    Map.entry("latitude", 6.2442 + (random.nextDouble() - 0.5) * 0.12),
+                    Map.entry("longitude", -75.5812 + (random.nextDouble() - 0.5) * 0.12),
+                    Map.entry("createdBy", account.id()),
+                    Map.entry("isActive", true),
+                    Map.entry("createdAt", now),
+                    Map.entry("updatedAt", now));
+        }
+
+        private boolean login() throws IOException, InterruptedException {
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "username", account.username(),
+                    "password", DataSeeder.PASSWORD));
+            HttpResponse<String> response = send(post("/api/auth/login", body));
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            accessToken = objectMapper.readTree(response.body()).path("accessToken").asText(null);
+            return accessToken != null;
+        }
+
+        // Skewed towards the lowest ids so a small set of events is hot, as on a real front page
+        private long pickEvent() {
+            long[] ids = data.eventIds();
+            double r = ThreadLocalRandom.current().nextDouble();
+            return ids[(int) (ids.length * r * r * r)];
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return request(path).GET();
+        }
+
+        private HttpRequest.Builder post(String path, String json) {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30));
+            if (accessToken != null) {
+                builder.header("Authorization", "Bearer " + accessToken);
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            lastStatus = response.statusCode();
+            return response;
+        }
+    }
+}
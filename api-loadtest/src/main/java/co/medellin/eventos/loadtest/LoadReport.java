@@ -0,0 +1,95 @@
+package co.medellin.eventos.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per endpoint over the measured window, and the SLO verdict.
+ */
+record LoadReport(double measuredSeconds, List<EndpointStats> endpoints) {
+
+    record EndpointStats(String endpoint, long requests, long errors, long shed, double throughput, double rowThroughput,
+                         double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    // rows counts events written by save/import requests, and one per request elsewhere;
+    // shed are logins answered 503 by the BCrypt queue, kept out of the error rate
+    static LoadReport of(Duration measured, Map<Endpoint, Histogram> latencies, Map<Endpoint, Long> errors,
+                         Map<Endpoint, Long> shed, Map<Endpoint, Long> rows) {
+        double seconds = measured.toMillis() / 1000.0;
+        List<EndpointStats> stats = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.getOrDefault(endpoint, new Histogram(3));
+            long failed = errors.getOrDefault(endpoint, 0L);
+            long rejected = shed.getOrDefault(endpoint, 0L);
+            if (histogram.getTotalCount() == 0 && failed == 0 && rejected == 0) {
+                continue;
+            }
+            stats.add(new EndpointStats(endpoint.label(), histogram.getTotalCount(), failed, rejected,
+                    histogram.getTotalCount() / seconds, rows.getOrDefault(endpoint, 0L) / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue())));
+        }
+        return new LoadReport(seconds, stats);
+    }
+
+    List<String> violations(LoadTestSettings settings) {
+        LoadTestSettings.Slo slo = settings.slo();
+        List<String> violations = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (EndpointStats stats : endpoints) {
+            requests += stats.requests() + stats.errors();
+            errors += stats.errors();
+        }
+        double errorRate = requests == 0 ? 1 : (double) errors / requests;
+        if (errorRate > slo.maxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "error rate %.2f%% > %.2f%%", errorRate * 100, slo.maxErrorRate() * 100));
+        }
+        slo.endpoints().forEach((endpoint, threshold) -> {
+            if (settings.mix().getOrDefault(endpoint, 0) <= 0) {
+                return; // not part of this scenario's mix
+            }
+            EndpointStats stats = endpoints.stream().filter(s -> s.endpoint().equals(endpoint.label())).findFirst().orElse(null);
+            if (stats == null || stats.requests() == 0) {
+                violations.add(endpoint.label() + ": no successful requests");
+                return;
+            }
+            check(violations, endpoint, "p95", stats.p95Ms(), threshold.p95());
+            check(violations, endpoint, "p99", stats.p99Ms(), threshold.p99());
+        });
+        return violations;
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%n%-14s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "shed", "req/s", "rows/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats s : endpoints) {
+            out.printf(Locale.ROOT, "%-14s %9d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    s.endpoint(), s.requests(), s.errors(), s.shed(), s.throughput(), s.rowThroughput(),
+                    s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs());
+        }
+        out.printf(Locale.ROOT, "%-14s %9d %7d %7d %9.1f %9.1f%n%n", "total",
+                endpoints.stream().mapToLong(EndpointStats::requests).sum(),
+                endpoints.stream().mapToLong(EndpointStats::errors).sum(),
+                endpoints.stream().mapToLong(EndpointStats::shed).sum(),
+                endpoints.stream().mapToDouble(EndpointStats::throughput).sum(),
+                endpoints.stream().mapToDouble(EndpointStats::rowThroughput).sum());
+    }
+
+    private static void check(List<String> violations, Endpoint endpoint, String percentile, double actualMs, Duration limit) {
+        if (limit != null && actualMs > limit.toMillis()) {
+            violations.add(String.format(Locale.ROOT, "%s: %s %.1f ms > %d ms", endpoint.label(), percentile, actualMs, limit.toMillis()));
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,105 @@
+package co.medellin.eventos.loadtest;
+
+import co.medellin.eventos.ApiApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Starts an embedded PostgreSQL, boots the API against it with the {@code loadtest} profile, seeds it,
+ * replays the request mix and exits with status 1 when an SLO from {@code loadtest.slo} is missed.
+ * Each entry of {@code loadtest.variants} then gets its own run on a fresh database.
+ * Arguments are Spring Boot command-line properties, e.g. {@code --loadtest.duration=5m}.
+ */
+public final class LoadTest {
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    record Run(String name, LoadReport report, List<String> violations) {
+    }
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Run> runs = new ArrayList<>();
+        LoadTestSettings settings = run("baseline", List.of(args), runs);
+        for (Map.Entry<String, Map<String, String>> variant : settings.variants().entrySet()) {
+            List<String> arguments = new ArrayList<>(List.of(args));
+            variant.getValue().forEach((key, value) -> arguments.add("--" + key + "=" + value));
+            run(variant.getKey(), arguments, runs);
+        }
+        if (runs.size() > 1) {
+            printComparison(runs);
+        }
+        if (settings.reportFile() != null) {
+            write(Path.of(settings.reportFile()), runs);
+        }
+
+        List<String> violations = new ArrayList<>();
+        runs.forEach(run -> run.violations().forEach(violation -> violations.add(run.name() + ": " + violation)));
+        if (violations.isEmpty()) {
+            log.info("All SLOs met");
+            System.exit(0);
+        }
+        violations.forEach(violation -> log.error("SLO missed: {}", violation));
+        System.exit(1);
+    }
+
+    private static LoadTestSettings run(String name, List<String> args, List<Run> runs) throws IOException, InterruptedException {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            List<String> arguments = new ArrayList<>(args);
+            // Command-line properties outrank application.yml's DB_URL defaults
+            arguments.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+            arguments.add("--spring.datasource.username=postgres");
+            arguments.add("--spring.datasource.password=postgres");
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiApplication.class)
+                    .profiles("loadtest")
+                    .run(arguments.toArray(String[]::new))) {
+                LoadTestSettings settings = LoadTestSettings.from(context.getEnvironment());
+                DataSeeder.SeededData data = new DataSeeder(context.getBean(JdbcTemplate.class),
+                        context.getBean(PasswordEncoder.class)).seed(settings.seed(), settings.concurrency());
+
+                URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                log.info("Run '{}'", name);
+                LoadReport report = new LoadDriver(baseUri, settings, data).run();
+                System.out.printf("%n== %s%n", name);
+                report.print(System.out);
+                runs.add(new Run(name, report, report.violations(settings)));
+                return settings;
+            }
+        }
+    }
+
+    private static void printComparison(List<Run> runs) {
+        System.out.printf(Locale.ROOT, "%-20s %9s %9s%n", "run", "req/s", "rows/s");
+        for (Run run : runs) {
+            System.out.printf(Locale.ROOT, "%-20s %9.1f %9.1f%n", run.name(),
+                    run.report().endpoints().stream().mapToDouble(LoadReport.EndpointStats::throughput).sum(),
+                    run.report().endpoints().stream().mapToDouble(LoadReport.EndpointStats::rowThroughput).sum());
+        }
+        System.out.println();
+    }
+
+    private static void write(Path file, List<Run> runs) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(),
+                Map.of("runs", runs, "passed", runs.stream().allMatch(run -> run.violations().isEmpty())));
+    }
+}
@@ -0,0 +1,44 @@
+package co.medellin.eventos.loadtest;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The {@code loadtest.*} block of application-loadtest.yml; any key can be overridden on the command line.
+ * {@code rate} is the offered load in requests per second across all virtual users (0 = back to back).
+ * Each entry of {@code variants} is a named set of extra properties (API or {@code loadtest.*}) for a
+ * follow-up run on a fresh database, so a scenario profile can compare configurations side by side.
+ */
+record LoadTestSettings(Seed seed,
+                        int concurrency,
+                        Duration warmup,
+                        Duration duration,
+                        int rate,
+                        Map<Endpoint, Integer> mix,
+                        int importRows,
+                        Slo slo,
+                        Map<String, Map<String, String>> variants,
+                        String reportFile) {
+
+    LoadTestSettings {
+        variants = variants == null ? Map.of() : variants;
+    }
+
+    // The first adminUsers accounts (the first virtual users) get role ADMIN, for admin-only endpoints
+    record Seed(int users, int adminUsers, int events, int commentsPerEvent) {
+    }
+
+    record Slo(double maxErrorRate, Map<Endpoint, Threshold> endpoints) {
+    }
+
+    record Threshold(Duration p95, Duration p99) {
+    }
+
+    static LoadTestSettings from(Environment environment) {
+        return Binder.get(environment).bind("loadtest", LoadTestSettings.class)
+                .orElseThrow(() -> new IllegalStateException("loadtest.* settings are missing"));
+    }
+}
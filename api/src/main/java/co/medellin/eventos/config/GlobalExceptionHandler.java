@@ -1,18 +1,23 @@
 package co.medellin.eventos.config;
 
 import co.medellin.eventos.dto.ApiError;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,6 +37,23 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(apiError, headers, HttpStatus.valueOf(status.value()));
     }
 
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ApiError> handleDatabaseUnavailable(Exception ex, HttpServletRequest req) {
+        // Typically the connection pool timing out under load; the request is safe to retry
+        ApiError apiError = new ApiError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable", "Database is busy, retry shortly", req.getRequestURI(), null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(apiError);
+    }
+
+    @ExceptionHandler({IOException.class, AsyncRequestNotUsableException.class})
+    public ResponseEntity<ApiError> handleIoFailure(Exception ex, HttpServletRequest req) {
+        // A streaming client (SSE, export) hung up; the response is gone, so there is nothing to write
+        if (req.getDispatcherType() == DispatcherType.ASYNC || ex instanceof AsyncRequestNotUsableException) {
+            return null;
+        }
+        return handleAll(ex, req);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleAll(Exception ex, HttpServletRequest req) {
         ApiError apiError = new ApiError(HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -3,6 +3,8 @@ package co.medellin.eventos.config;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import co.medellin.eventos.security.JwtAuthenticationFilter;
+import co.medellin.eventos.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,9 +31,15 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Value("${cors.allowed-origins:http://localhost:5173}")
     private String allowedOrigins;
 
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -39,16 +47,26 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streaming bodies finish on an ASYNC dispatch without the token; the request itself was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                // Full-table dumps, including inactive events; must precede the public /api/events/** and /api/comments/**
+                .requestMatchers(HttpMethod.GET, "/api/events/export", "/api/comments/export").hasRole("ADMIN")
+                // Bulk inserts, thousands of rows per call
+                .requestMatchers(HttpMethod.POST, "/api/events/import").hasRole("ADMIN")
+                // Writes the raw entity, role and password hash included; the public way in is /api/auth/signup
+                .requestMatchers(HttpMethod.POST, "/api/users/save").hasRole("ADMIN")
                 .requestMatchers("/api/auth/**", "/actuator/health", "/api/events/**", "/api/users/**", "/api/comments/**").permitAll()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Stored hashes with a lower strength are upgraded on the next successful login (UserService.updatePassword)
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -4,9 +4,13 @@ import co.medellin.eventos.dto.*;
 import co.medellin.eventos.model.User;
 import co.medellin.eventos.repository.UserRepository;
 import co.medellin.eventos.security.JwtService;
+import co.medellin.eventos.security.PasswordHashingExecutor;
+import co.medellin.eventos.service.RefreshTokenService;
 import co.medellin.eventos.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,11 +18,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
+    private static final int MAX_USERS_PAGE_SIZE = 100;
+
     @Autowired
     private UserService userService;
     @Autowired
@@ -29,49 +35,64 @@ public class AuthController {
     private JwtService jwtService;
     @Autowired
     private AuthenticationManager authenticationManager;
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
 
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest request) {
+    public CompletableFuture<ResponseEntity<?>> signup(@Valid @RequestBody SignupRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
-            return ResponseEntity.badRequest().body("Username already exists");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Username already exists"));
         }
         if (userRepository.existsByEmail(request.getEmail())) {
-            return ResponseEntity.badRequest().body("Email already exists");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Email already exists"));
         }
-        User user = User.builder()
-                .name(request.getName())
-                .username(request.getUsername())
-                .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
-                .role("USER")
-                .isActive(true)
-                .build();
-        userService.save(user);
-        return ResponseEntity.ok().build();
+        // Continued off the BCrypt threads, which only hash and may idle after completing
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(request.getPassword()))
+                .thenApplyAsync(passwordHash -> {
+                    User user = User.builder()
+                            .name(request.getName())
+                            .username(request.getUsername())
+                            .email(request.getEmail())
+                            .passwordHash(passwordHash)
+                            .role("USER")
+                            .isActive(true)
+                            .build();
+                    userService.save(user);
+                    return ResponseEntity.ok().build();
+                }, taskExecutor);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return passwordHashingExecutor.submit(() -> authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-        User user = (User) authentication.getPrincipal();
-        String accessToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateToken(user); // For demo, use same method; in prod, use different claims/expiration
-        UserSummary userSummary = new UserSummary(user.getId(), user.getName(), user.getUsername(), user.getEmail(), user.getRole());
-        return ResponseEntity.ok(new AuthResponse(accessToken, refreshToken, userSummary));
+        )).thenApplyAsync(authentication -> {
+            User user = (User) authentication.getPrincipal();
+            String accessToken = jwtService.generateToken(user);
+            String refreshToken = refreshTokenService.issue(user);
+            UserSummary userSummary = new UserSummary(user.getId(), user.getName(), user.getUsername(), user.getEmail(), user.getRole());
+            return ResponseEntity.ok(new AuthResponse(accessToken, refreshToken, userSummary));
+        }, taskExecutor);
     }
 
     @PostMapping("/refresh")
     public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest request) {
-    String username = jwtService.extractUsername(request.getRefreshToken());
-    User user = userRepository.findByUsername(username).orElseThrow();
-    String accessToken = jwtService.generateToken(user);
-    UserSummary userSummary = new UserSummary(user.getId(), user.getName(), user.getUsername(), user.getEmail(), user.getRole());
-    return ResponseEntity.ok(new AuthResponse(accessToken, request.getRefreshToken(), userSummary));
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.user();
+        String accessToken = jwtService.generateToken(user);
+        UserSummary userSummary = new UserSummary(user.getId(), user.getName(), user.getUsername(), user.getEmail(), user.getRole());
+        return ResponseEntity.ok(new AuthResponse(accessToken, rotation.refreshToken(), userSummary));
     }
+
     @GetMapping("/allUsers")
-    public ResponseEntity<List<User>> getUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<CursorPage<UserSummary>> getUsers(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            @RequestParam(required = false) String q) {
+        return ResponseEntity.ok(userService.getDirectory(cursor, Math.min(Math.max(size, 1), MAX_USERS_PAGE_SIZE), q));
     }
 }
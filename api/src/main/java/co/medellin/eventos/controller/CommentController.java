@@ -1,26 +1,82 @@
 package co.medellin.eventos.controller;
 
 import co.medellin.eventos.dto.CommentDto;
+import co.medellin.eventos.dto.CommentNodeDto;
+import co.medellin.eventos.dto.CursorPage;
+import co.medellin.eventos.repository.CommentStats;
+import co.medellin.eventos.service.CommentIngestService;
 import co.medellin.eventos.service.CommentService;
+import co.medellin.eventos.service.CommentStreamHub;
+import co.medellin.eventos.service.ExportService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
 
-import java.util.List;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("/api/comments")
 public class CommentController {
+    private static final int MAX_COMMENTS_PAGE_SIZE = 100;
+    private static final int MAX_THREADS_PAGE_SIZE = 50;
+    private static final int MAX_TREE_DEPTH = 50;
+    private static final int MAX_REPLIES_PER_COMMENT = 100;
+
     private final CommentService commentService;
+    private final CommentIngestService commentIngestService;
+    private final ExportService exportService;
+    private final CommentStreamHub commentStreamHub;
 
     @GetMapping("/event/{eventId}")
-    public List<CommentDto> getCommentsByEvent(@PathVariable Long eventId) {
-        return commentService.getCommentsByEvent(eventId);
+    public ResponseEntity<CursorPage<CommentDto>> getCommentsByEvent(@PathVariable Long eventId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     @RequestParam(defaultValue = "newest") String order,
+                                                                     WebRequest request) {
+        boolean newestFirst = !"oldest".equalsIgnoreCase(order);
+        int pageSize = Math.min(Math.max(size, 1), MAX_COMMENTS_PAGE_SIZE);
+        // Validate against the aggregate version first so a 304 never loads the comment rows
+        CommentStats stats = commentService.getCommentStats(eventId);
+        String eTag = ETags.forParts(eventId, stats.getCount(), stats.getLastUpdatedAt(), cursor, pageSize, newestFirst);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        // No Last-Modified: the stats only see live comments, so a delete would not move it and
+        // If-Modified-Since would keep answering 304; the live count in the ETag does catch it
+        return ETags.ok(commentService.getCommentsByEvent(eventId, cursor, pageSize, newestFirst), eTag, null);
+    }
+
+    @GetMapping("/event/{eventId}/tree")
+    public CursorPage<CommentNodeDto> getCommentTree(@PathVariable Long eventId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int size,
+                                                     @RequestParam(defaultValue = "10") int maxDepth,
+                                                     @RequestParam(defaultValue = "20") int maxReplies) {
+        return commentService.getThreads(eventId, cursor, Math.min(Math.max(size, 1), MAX_THREADS_PAGE_SIZE),
+                Math.min(Math.max(maxDepth, 0), MAX_TREE_DEPTH),
+                Math.min(Math.max(maxReplies, 1), MAX_REPLIES_PER_COMMENT));
+    }
+
+    @GetMapping(value = "/event/{eventId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamComments(@PathVariable Long eventId) {
+        return commentStreamHub.subscribe(eventId);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportComments() {
+        StreamingResponseBody body = exportService::exportComments;
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
     }
 
     @PostMapping("/save")
-    public CommentDto createComment(@RequestBody CommentDto dto) {
-        return commentService.createComment(dto);
+    public CompletableFuture<CommentDto> createComment(@RequestBody CommentDto dto) {
+        return commentIngestService.submit(dto);
     }
     @PutMapping("/{id}")
     public CommentDto updateComment(@PathVariable Long id, @RequestBody CommentDto dto) {
@@ -0,0 +1,64 @@
+package co.medellin.eventos.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Builds strong ETags from entity versions (id + updatedAt, plus anything else the body carries)
+ * so conditional GETs can be answered without serializing the body.
+ */
+final class ETags {
+    private ETags() {}
+
+    static <T> String forList(Collection<T> items, Function<T, Object> id, Function<T, LocalDateTime> updatedAt,
+                              Object... extra) {
+        StringBuilder sb = new StringBuilder();
+        for (T item : items) {
+            sb.append(id.apply(item)).append(':').append(toEpochMillis(updatedAt.apply(item))).append(',');
+        }
+        for (Object part : extra) {
+            sb.append('|').append(part);
+        }
+        return hashed(sb);
+    }
+
+    static String forParts(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            sb.append(part).append('|');
+        }
+        return hashed(sb);
+    }
+
+    // For bodies whose cheap-to-change fields (view counts) are left out of the validator on purpose
+    static String weak(String eTag) {
+        return "W/" + eTag;
+    }
+
+    // Spring answers If-None-Match / If-Modified-Since with 304 for these before writing the body
+    static <B> ResponseEntity<B> ok(B body, String eTag, LocalDateTime lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified.atZone(ZoneId.systemDefault()));
+        }
+        return builder.body(body);
+    }
+
+    private static long toEpochMillis(LocalDateTime value) {
+        return value == null ? 0L : value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String hashed(CharSequence content) {
+        return quote(DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -1,47 +1,124 @@
 package co.medellin.eventos.controller;
 
+import co.medellin.eventos.dto.CursorPage;
+import co.medellin.eventos.dto.EventDayCountDto;
 import co.medellin.eventos.dto.EventDto;
 import co.medellin.eventos.dto.EventSummaryDto;
+import co.medellin.eventos.dto.ImportReport;
+import co.medellin.eventos.dto.NearbyEventDto;
 import co.medellin.eventos.model.Event;
+import co.medellin.eventos.service.EventImportService;
 import co.medellin.eventos.service.EventService;
+import co.medellin.eventos.service.EventViewCounter;
+import co.medellin.eventos.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final double MAX_RADIUS_KM = 100;
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @Autowired
     private EventService eventService;
+    @Autowired
+    private EventImportService eventImportService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private EventViewCounter eventViewCounter;
 
     @GetMapping
-    public ResponseEntity<List<EventSummaryDto>> getEvents(@RequestParam(defaultValue = "0") int page,
-                                                           @RequestParam(defaultValue = "10") int size,
-                                                           @RequestParam(required = false) String query) {
+    public ResponseEntity<?> getEvents(@RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "10") int size,
+                                       @RequestParam(required = false) String query,
+                                       @RequestParam(required = false) String cursor) {
+        boolean searching = query != null && !query.isBlank();
+        if (cursor != null && !searching) {
+            // Keyset mode: pass an empty cursor for the first page, then the returned nextCursor
+            CursorPage<EventSummaryDto> result = eventService.findPage(cursor, Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE));
+            return ETags.ok(result,
+                    ETags.forList(result.getItems(), EventController::version, EventSummaryDto::getUpdatedAt, result.getNextCursor()),
+                    null);
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<Event> events = eventService.findAll(pageable);
-        List<EventSummaryDto> result = events.stream().map(event ->
-                new EventSummaryDto(
-                        event.getId(),
-                        event.getTitle(),
-                        event.getStartsAt(),
-                        event.getEndsAt(),
-                        event.getLocationText(),
-                        event.getImageUrl()
-                )
-        ).collect(Collectors.toList());
-        return ResponseEntity.ok(result);
+        List<EventSummaryDto> result = searching
+                ? eventService.search(query, pageable)
+                : eventService.findSummaries(pageable);
+        return ETags.ok(result, ETags.forList(result, EventController::version, EventSummaryDto::getUpdatedAt), null);
+    }
+
+    // Counters change without touching updatedAt, so they are part of the validator and there is no
+    // Last-Modified: an If-Modified-Since alone would keep answering 304 with stale counts
+    private static Object version(EventSummaryDto event) {
+        return event.getId() + "/" + event.getViewCount() + "/" + event.getCommentCount();
+    }
+
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<EventSummaryDto>> getUpcoming(@RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.findUpcoming(PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/now")
+    public ResponseEntity<List<EventSummaryDto>> getHappeningNow(@RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.findHappeningNow(PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/between")
+    public ResponseEntity<List<EventSummaryDto>> getBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.findBetween(from, to, PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<List<EventDayCountDto>> getCalendar(@RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(eventService.countByDay(month));
+    }
+
+    @GetMapping("/near")
+    public ResponseEntity<CursorPage<NearbyEventDto>> getNear(@RequestParam double lat,
+                                                              @RequestParam double lon,
+                                                              @RequestParam(defaultValue = "5") double radiusKm,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.findNearby(lat, lon, Math.min(radiusKm, MAX_RADIUS_KM), cursor,
+                Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventDto> getEvent(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.findById(id));
+    public ResponseEntity<EventDto> getEvent(@PathVariable Long id, WebRequest request) {
+        EventDto event = eventService.findById(id);
+        if (event == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Weak: viewCount is in the body but not the validator, or every view would invalidate every copy
+        String eTag = ETags.weak(ETags.forParts(event.getId(), event.getUpdatedAt(), event.getCommentCount()));
+        if (request.checkNotModified(eTag)) {
+            // A revalidation is not a view
+            return null;
+        }
+        eventViewCounter.record(id);
+        return ETags.ok(event, eTag, null);
     }
 
     @PostMapping("/save")
@@ -49,6 +126,21 @@ public class EventController {
         return eventService.saveEvent(eventDto);
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReport> importEvents(HttpServletRequest request) throws IOException {
+        // Body is read line by line from the servlet stream, never buffered whole
+        EventImportService.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                ? EventImportService.Format.CSV
+                : EventImportService.Format.NDJSON;
+        return ResponseEntity.ok(eventImportService.importEvents(request.getInputStream(), format));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = exportService::exportEvents;
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         eventService.deleteEvent(id);
@@ -61,7 +153,7 @@ public class EventController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<EventDto>> getByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<EventSummaryDto>> getByUser(@PathVariable Long userId) {
         return ResponseEntity.ok(eventService.getEventsByUser(userId));
     }
 }
@@ -1,26 +1,32 @@
 package co.medellin.eventos.controller;
 
+import co.medellin.eventos.dto.CursorPage;
+import co.medellin.eventos.dto.UserSummary;
 import co.medellin.eventos.model.User;
 import co.medellin.eventos.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("api/users")
 public class UserController {
+    private static final int MAX_USERS_PAGE_SIZE = 100;
+
     @Autowired
     private UserService userService;
 
     @PostMapping("/save")
-    public ResponseEntity<User> saveUser(@RequestBody User user) {
-        return ResponseEntity.ok(userService.save(user));
+    public ResponseEntity<UserSummary> saveUser(@RequestBody User user) {
+        User saved = userService.save(user);
+        // Not the entity: it would echo the password hash back
+        return ResponseEntity.ok(new UserSummary(saved.getId(), saved.getName(), saved.getUsername(), saved.getEmail(), saved.getRole()));
     }
 
     @GetMapping("/allUsers")
-    public ResponseEntity<List<User>> getUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<CursorPage<UserSummary>> getUsers(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            @RequestParam(required = false) String q) {
+        return ResponseEntity.ok(userService.getDirectory(cursor, Math.min(Math.max(size, 1), MAX_USERS_PAGE_SIZE), q));
     }
 }
\ No newline at end of file
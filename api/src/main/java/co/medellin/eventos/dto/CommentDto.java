@@ -13,4 +13,5 @@ public class CommentDto {
     private LocalDateTime updatedAt;
     private Long authorId;
     private Long eventId;
+    private Long parentId;
 }
@@ -0,0 +1,23 @@
+package co.medellin.eventos.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CommentNodeDto {
+    private Long id;
+    private String content;
+    private boolean deleted;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long authorId;
+    private Long eventId;
+    private Long parentId;
+    private int depth;
+    private List<CommentNodeDto> replies = new ArrayList<>();
+    // Replies were cut at maxReplies; more exist than the ones listed
+    private boolean moreReplies;
+}
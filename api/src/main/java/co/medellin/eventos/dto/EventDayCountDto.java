@@ -0,0 +1,19 @@
+package co.medellin.eventos.dto;
+
+import java.time.LocalDate;
+
+public class EventDayCountDto {
+    private LocalDate date;
+    private long count;
+
+    public EventDayCountDto() {}
+    public EventDayCountDto(LocalDate date, long count) {
+        this.date = date;
+        this.count = count;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -13,10 +13,15 @@ public class EventDto {
     private LocalDateTime endsAt;
     private String locationText;
     private String imageUrl;
+    private Double latitude;
+    private Double longitude;
     private Long createdBy;
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long viewCount;
+    private Long commentCount;
+    private boolean archived;
 
 
 }
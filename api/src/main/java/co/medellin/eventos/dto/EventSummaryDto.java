@@ -9,15 +9,22 @@ public class EventSummaryDto {
     private LocalDateTime endsAt;
     private String locationText;
     private String imageUrl;
+    private LocalDateTime updatedAt;
+    private long viewCount;
+    private long commentCount;
 
     public EventSummaryDto() {}
-    public EventSummaryDto(Long id, String title, LocalDateTime startsAt, LocalDateTime endsAt, String locationText, String imageUrl) {
+    public EventSummaryDto(Long id, String title, LocalDateTime startsAt, LocalDateTime endsAt, String locationText, String imageUrl,
+                           LocalDateTime updatedAt, long viewCount, long commentCount) {
         this.id = id;
         this.title = title;
         this.startsAt = startsAt;
         this.endsAt = endsAt;
         this.locationText = locationText;
         this.imageUrl = imageUrl;
+        this.updatedAt = updatedAt;
+        this.viewCount = viewCount;
+        this.commentCount = commentCount;
     }
 
     public Long getId() { return id; }
@@ -32,6 +39,12 @@ public class EventSummaryDto {
     public void setLocationText(String locationText) { this.locationText = locationText; }
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public long getViewCount() { return viewCount; }
+    public void setViewCount(long viewCount) { this.viewCount = viewCount; }
+    public long getCommentCount() { return commentCount; }
+    public void setCommentCount(long commentCount) { this.commentCount = commentCount; }
 
     // redundant getters removed
 }
@@ -0,0 +1,17 @@
+package co.medellin.eventos.dto;
+
+public class NearbyEventDto {
+    private EventSummaryDto event;
+    private double distanceKm;
+
+    public NearbyEventDto() {}
+    public NearbyEventDto(EventSummaryDto event, double distanceKm) {
+        this.event = event;
+        this.distanceKm = distanceKm;
+    }
+
+    public EventSummaryDto getEvent() { return event; }
+    public void setEvent(EventSummaryDto event) { this.event = event; }
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
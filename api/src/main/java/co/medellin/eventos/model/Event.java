@@ -10,7 +10,9 @@ import java.time.LocalDateTime;
 @Table(name = "events")
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    // pooled ids keep JDBC insert batching possible; increment must match V7__event_id_pooled_sequence.sql
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -30,6 +32,10 @@ public class Event {
 
     @Column(length = 255)
     private String imageUrl;
+
+    private Double latitude;
+
+    private Double longitude;
     @JoinColumn(name = "created_by", nullable = false)
     private Long createdBy;
     @Column(nullable = false)
@@ -40,4 +46,12 @@ public class Event {
     @Column(nullable = false)
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Maintained only by EventViewCounter's batched flush, never by entity updates
+    @Column(name = "view_count", nullable = false, insertable = false, updatable = false)
+    private long viewCount;
+
+    // Maintained only by CommentCountUpdater
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private long commentCount;
+
 }
@@ -0,0 +1,24 @@
+package co.medellin.eventos.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface projection over events_archive for by-id lookups of retired events.
+ */
+public interface ArchivedEventView {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    LocalDateTime getStartsAt();
+    LocalDateTime getEndsAt();
+    String getLocationText();
+    String getImageUrl();
+    Double getLatitude();
+    Double getLongitude();
+    Long getCreatedBy();
+    Boolean getIsActive();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    long getViewCount();
+    long getCommentCount();
+}
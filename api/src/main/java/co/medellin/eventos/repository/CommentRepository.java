@@ -1,14 +1,91 @@
 package co.medellin.eventos.repository;
 
 import co.medellin.eventos.model.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByEvent(Long event);
+    // Keyset pages over live comments, see V10__comment_keyset_index.sql
+    @Query("""
+            select c from Comment c
+            where c.event = :eventId and c.deleted = false
+              and c.createdAt >= :createdAt and (c.createdAt > :createdAt or c.id > :id)
+            order by c.createdAt, c.id
+            """)
+    List<Comment> findLiveAfter(@Param("eventId") Long eventId, @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") long id, Pageable pageable);
+
+    @Query("""
+            select c from Comment c
+            where c.event = :eventId and c.deleted = false
+              and c.createdAt <= :createdAt and (c.createdAt < :createdAt or c.id < :id)
+            order by c.createdAt desc, c.id desc
+            """)
+    List<Comment> findLiveBefore(@Param("eventId") Long eventId, @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") long id, Pageable pageable);
+
+    // Pages top-level threads by (created_at, id) and walks their replies down to :maxDepth, at most
+    // :maxReplies per comment. One root and one reply per comment past those limits come back flagged
+    // as overflow, without their replies, so the caller learns there is more without loading it
+    @Query(value = """
+            WITH RECURSIVE roots AS (
+                SELECT c.id, row_number() OVER (ORDER BY c.created_at, c.id) > :limit AS overflow
+                FROM comments c
+                WHERE c.event_id = :eventId AND c.parent_id IS NULL
+                  AND (c.created_at > :afterCreatedAt OR (c.created_at = :afterCreatedAt AND c.id > :afterId))
+                ORDER BY c.created_at, c.id
+                LIMIT :limit + 1
+            ), tree AS (
+                SELECT c.id, c.content, c.deleted, c.created_at, c.updated_at, c.author_id, c.event_id, c.parent_id,
+                       0 AS depth, r.overflow
+                FROM comments c JOIN roots r ON r.id = c.id
+                UNION ALL
+                SELECT c.id, c.content, c.deleted, c.created_at, c.updated_at, c.author_id, c.event_id, c.parent_id,
+                       t.depth + 1, c.overflow
+                FROM tree t CROSS JOIN LATERAL (
+                    SELECT reply.*, row_number() OVER (ORDER BY reply.created_at, reply.id) > :maxReplies AS overflow
+                    FROM comments reply
+                    WHERE reply.parent_id = t.id
+                    ORDER BY reply.created_at, reply.id
+                    LIMIT :maxReplies + 1
+                ) c
+                WHERE t.depth < :maxDepth AND NOT t.overflow
+            )
+            SELECT id AS "id", content AS "content", deleted AS "deleted", created_at AS "createdAt",
+                   updated_at AS "updatedAt", author_id AS "authorId", event_id AS "eventId",
+                   parent_id AS "parentId", depth AS "depth", overflow AS "overflow"
+            FROM tree
+            ORDER BY depth, created_at, id
+            """, nativeQuery = true)
+    List<CommentTreeRow> findThreads(@Param("eventId") Long eventId,
+                                     @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                     @Param("afterId") long afterId,
+                                     @Param("limit") int limit,
+                                     @Param("maxDepth") int maxDepth,
+                                     @Param("maxReplies") int maxReplies);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Comment c order by c.id")
+    Stream<Comment> streamAll();
+
+    // Live comments only, like the page it versions; an index-only scan of idx_comments_event_live
+    @Query("select count(c) as count, max(c.updatedAt) as lastUpdatedAt from Comment c where c.event = :eventId and c.deleted = false")
+    CommentStats findStatsByEvent(@Param("eventId") Long eventId);
 
 }
@@ -0,0 +1,11 @@
+package co.medellin.eventos.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate version of an event's comment list, cheap enough to answer conditional GETs.
+ */
+public interface CommentStats {
+    long getCount();
+    LocalDateTime getLastUpdatedAt();
+}
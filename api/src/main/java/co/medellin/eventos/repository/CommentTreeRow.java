@@ -0,0 +1,20 @@
+package co.medellin.eventos.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One node of a comment thread as returned by the recursive tree query.
+ */
+public interface CommentTreeRow {
+    Long getId();
+    String getContent();
+    boolean getDeleted();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Long getAuthorId();
+    Long getEventId();
+    Long getParentId();
+    int getDepth();
+    // Past the page size (a root) or the per-comment reply cap (a reply): a marker, not a node
+    boolean getOverflow();
+}
@@ -0,0 +1,9 @@
+package co.medellin.eventos.repository;
+
+/**
+ * An event's view and comment counters, which move without touching updatedAt.
+ */
+public interface EventCounters {
+    long getViewCount();
+    long getCommentCount();
+}
@@ -1,14 +1,152 @@
 package co.medellin.eventos.repository;
 
+import co.medellin.eventos.dto.EventDayCountDto;
+import co.medellin.eventos.dto.EventSummaryDto;
 import co.medellin.eventos.model.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
-    List<Event> findByCreatedBy(@Param("userId") Long userId);
+    // Selects only the summary columns, never the TEXT description
+    String SELECT_SUMMARY = """
+            select new co.medellin.eventos.dto.EventSummaryDto(
+                e.id, e.title, e.startsAt, e.endsAt, e.locationText, e.imageUrl, e.updatedAt, e.viewCount,
+                e.commentCount)
+            from Event e
+            """;
+
+    // Same column list for native queries mapped onto EventSummaryView
+    String NATIVE_SUMMARY_COLUMNS = """
+            e.id AS "id", e.title AS "title", e.starts_at AS "startsAt", e.ends_at AS "endsAt",
+            e.location_text AS "locationText", e.image_url AS "imageUrl", e.updated_at AS "updatedAt",
+            e.view_count AS "viewCount", e.comment_count AS "commentCount"
+            """;
+
+    // Mean Earth radius; the nearby bounding box in EventService is derived from the same value
+    double EARTH_RADIUS_KM = 6371.0;
+
+    // Great-circle distance in km from (:lat, :lon) to the event
+    String HAVERSINE_KM = "2 * " + EARTH_RADIUS_KM + """
+             * asin(sqrt(
+                power(sin(radians(e.latitude - :lat) / 2), 2)
+                + cos(radians(:lat)) * cos(radians(e.latitude)) * power(sin(radians(e.longitude - :lon) / 2), 2)
+            ))
+            """;
+
+    @Query(SELECT_SUMMARY + "where e.createdBy = :userId order by e.startsAt, e.id")
+    List<EventSummaryDto> findSummariesByCreatedBy(@Param("userId") Long userId);
+
+    @Query(SELECT_SUMMARY + "order by e.id")
+    List<EventSummaryDto> findSummaries(Pageable pageable);
+
+    // Keyset pagination on (starts_at, id), see V4__event_keyset_index.sql
+    @Query(SELECT_SUMMARY + "order by e.startsAt, e.id")
+    List<EventSummaryDto> findFirstByStartsAt(Pageable pageable);
+
+    @Query(SELECT_SUMMARY + """
+            where e.startsAt >= :startsAt and (e.startsAt > :startsAt or e.id > :id)
+            order by e.startsAt, e.id
+            """)
+    List<EventSummaryDto> findAfterByStartsAt(@Param("startsAt") LocalDateTime startsAt, @Param("id") Long id, Pageable pageable);
+
+    // Date-range queries over active events, see V5__event_range_indexes.sql
+    @Query(SELECT_SUMMARY + "where e.isActive = true and e.startsAt >= :now order by e.startsAt, e.id")
+    List<EventSummaryDto> findUpcoming(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + """
+            where e.isActive = true and e.endsAt >= :now and e.startsAt <= :now
+            order by e.endsAt, e.id
+            """)
+    List<EventSummaryDto> findHappeningAt(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Events overlapping [from, to)
+    @Query(SELECT_SUMMARY + """
+            where e.isActive = true and e.startsAt < :to and e.endsAt >= :from
+            order by e.startsAt, e.id
+            """)
+    List<EventSummaryDto> findBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("""
+            select new co.medellin.eventos.dto.EventDayCountDto(cast(e.startsAt as LocalDate), count(e))
+            from Event e
+            where e.isActive = true and e.startsAt >= :from and e.startsAt < :to
+            group by cast(e.startsAt as LocalDate)
+            order by cast(e.startsAt as LocalDate)
+            """)
+    List<EventDayCountDto> countByStartDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Ranks the events of the covering grid cells straight from idx_events_active_geo_cell (one index-only
+    // range scan per latitude row, exact haversine on those rows), then reads the summary columns of the
+    // returned page only. MATERIALIZED keeps the planner from folding the distance filter into the scan and
+    // trading the index for a sequential scan. Keyset-paginated on (distanceKm, id).
+    @Query(value = """
+            WITH cells AS MATERIALIZED (
+                SELECT e.id, e.latitude, e.longitude
+                FROM generate_series(:firstRowCell, :lastRowCell, :rowStride) AS r(row_cell)
+                JOIN events e ON e.geo_cell BETWEEN r.row_cell + :minCol AND r.row_cell + :maxCol
+                WHERE e.is_active
+            ), nearest AS (
+                SELECT * FROM (SELECT e.id, """ + HAVERSINE_KM + """
+                    AS distance_km
+                    FROM cells e
+                ) d
+                WHERE d.distance_km <= :radiusKm
+                  AND (d.distance_km > :afterDistance OR (d.distance_km = :afterDistance AND d.id > :afterId))
+                ORDER BY d.distance_km, d.id
+                LIMIT :limit
+            )
+            """ + "SELECT " + NATIVE_SUMMARY_COLUMNS + """
+            , n.distance_km AS "distanceKm"
+            FROM nearest n JOIN events e ON e.id = n.id
+            ORDER BY n.distance_km, n.id
+            """, nativeQuery = true)
+    List<NearbyEventView> findNearby(@Param("lat") double lat, @Param("lon") double lon, @Param("radiusKm") double radiusKm,
+                                     @Param("firstRowCell") int firstRowCell, @Param("lastRowCell") int lastRowCell,
+                                     @Param("rowStride") int rowStride, @Param("minCol") int minCol, @Param("maxCol") int maxCol,
+                                     @Param("afterDistance") double afterDistance, @Param("afterId") long afterId,
+                                     @Param("limit") int limit);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Event e order by e.id")
+    Stream<Event> streamAll();
+
+    // Primary key lookup; the cached detail DTO is served with these read fresh
+    @Query("select e.viewCount as viewCount, e.commentCount as commentCount from Event e where e.id = :id")
+    Optional<EventCounters> findCountersById(@Param("id") Long id);
+
+    // Uses the GIN index on search_vector (see V3__event_search.sql)
+    @Query(value = "SELECT " + NATIVE_SUMMARY_COLUMNS + """
+            FROM events e
+            WHERE e.search_vector @@ websearch_to_tsquery('spanish', f_unaccent(:query))
+            ORDER BY ts_rank(e.search_vector, websearch_to_tsquery('spanish', f_unaccent(:query))) DESC, e.id
+            """, nativeQuery = true)
+    List<EventSummaryView> search(@Param("query") String query, Pageable pageable);
+
+    // Events retired by ArchiveJob are still reachable by id
+    @Query(value = """
+            SELECT a.id AS "id", a.title AS "title", a.description AS "description", a.starts_at AS "startsAt",
+                   a.ends_at AS "endsAt", a.location_text AS "locationText", a.image_url AS "imageUrl",
+                   a.latitude AS "latitude", a.longitude AS "longitude", a.created_by AS "createdBy",
+                   a.is_active AS "isActive", a.created_at AS "createdAt", a.updated_at AS "updatedAt",
+                   a.view_count AS "viewCount", a.comment_count AS "commentCount"
+            FROM events_archive a
+            WHERE a.id = :id
+            """, nativeQuery = true)
+    Optional<ArchivedEventView> findArchivedById(@Param("id") Long id);
 }
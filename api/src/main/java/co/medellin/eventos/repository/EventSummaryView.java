@@ -0,0 +1,18 @@
+package co.medellin.eventos.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface projection for native event queries that only need the summary columns.
+ */
+public interface EventSummaryView {
+    Long getId();
+    String getTitle();
+    LocalDateTime getStartsAt();
+    LocalDateTime getEndsAt();
+    String getLocationText();
+    String getImageUrl();
+    LocalDateTime getUpdatedAt();
+    long getViewCount();
+    long getCommentCount();
+}
@@ -0,0 +1,5 @@
+package co.medellin.eventos.repository;
+
+public interface NearbyEventView extends EventSummaryView {
+    Double getDistanceKm();
+}
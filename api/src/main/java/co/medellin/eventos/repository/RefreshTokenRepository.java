@@ -0,0 +1,40 @@
+package co.medellin.eventos.repository;
+
+import co.medellin.eventos.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+    // Compare-and-set: only one concurrent use of a refresh token can rotate it
+    @Modifying
+    @Query("""
+            update RefreshToken t set t.revokedAt = :now, t.replacedBy = :replacedBy
+            where t.jti = :jti and t.tokenHash = :tokenHash and t.revokedAt is null and t.expiresAt > :now
+            """)
+    int markRotated(@Param("jti") String jti, @Param("tokenHash") String tokenHash,
+                    @Param("replacedBy") String replacedBy, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Query("select t.jti from RefreshToken t where t.familyId = :familyId")
+    List<String> findJtisByFamily(@Param("familyId") String familyId);
+
+    @Query("select t.jti from RefreshToken t where t.revokedAt is not null and t.expiresAt > :now")
+    List<String> findRevokedJtis(@Param("now") LocalDateTime now);
+
+    @Query("select count(t) > 0 from RefreshToken t where t.jti = :jti and t.revokedAt is not null")
+    boolean isRevoked(@Param("jti") String jti);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :before")
+    int deleteExpired(@Param("before") LocalDateTime before);
+}
@@ -1,9 +1,14 @@
 package co.medellin.eventos.repository;
 
+import co.medellin.eventos.dto.UserSummary;
 import co.medellin.eventos.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -11,4 +16,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Keyset pages over the unique username index; pageable carries only the limit
+    @Query("""
+            select new co.medellin.eventos.dto.UserSummary(u.id, u.name, u.username, u.email, u.role)
+            from User u
+            where u.username > :afterUsername
+            order by u.username
+            """)
+    List<UserSummary> findSummariesAfter(@Param("afterUsername") String afterUsername, Pageable pageable);
+
+    // pattern is a lower-cased LIKE pattern; both lower() expressions have trigram indexes (V15)
+    @Query("""
+            select new co.medellin.eventos.dto.UserSummary(u.id, u.name, u.username, u.email, u.role)
+            from User u
+            where u.username > :afterUsername
+              and (lower(u.username) like :pattern escape '\\' or lower(u.name) like :pattern escape '\\')
+            order by u.username
+            """)
+    List<UserSummary> searchSummariesAfter(@Param("pattern") String pattern, @Param("afterUsername") String afterUsername,
+                                           Pageable pageable);
+
+    @Query("select u.isActive as isActive, u.role as role from User u where u.id = :id")
+    Optional<UserStatusView> findStatusById(@Param("id") Long id);
 }
@@ -0,0 +1,9 @@
+package co.medellin.eventos.repository;
+
+/**
+ * Just the fields authorization needs; see UserStatusCache.
+ */
+public interface UserStatusView {
+    Boolean getIsActive();
+    String getRole();
+}
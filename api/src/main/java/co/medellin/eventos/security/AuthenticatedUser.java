@@ -0,0 +1,7 @@
+package co.medellin.eventos.security;
+
+/**
+ * Principal built from access-token claims, so authenticated requests don't load the User entity.
+ */
+public record AuthenticatedUser(Long id, String username, String role) {
+}
@@ -2,11 +2,14 @@
 package co.medellin.eventos.security;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,6 +27,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtService jwtService;
     @Autowired
     private UserDetailsService userDetailsService;
+    @Autowired
+    private UserStatusCache userStatusCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,19 +36,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
+        final Claims claims;
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
+        try {
+            claims = jwtService.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired token: continue anonymously and let authorization reject if needed
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final String username = claims.getSubject();
+        // Refresh tokens are only good for /api/auth/refresh
+        if (username != null && !jwtService.isRefreshToken(claims) && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = claims.get(JwtService.USER_ID_CLAIM) != null
+                    ? authenticateFromClaims(claims)
+                    : authenticateFromDatabase(claims);
+            if (authToken != null) {
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
@@ -51,4 +64,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    // Tokens carrying uid/role: only the cached active flag and role are checked, no users query
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(Claims claims) {
+        Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        UserStatusCache.UserStatus status = userStatusCache.get(userId);
+        // A changed role invalidates the token's authorities; the user has to log in again
+        if (!status.active() || role == null || !role.equals(status.role())) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, claims.getSubject(), role), null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role))
+        );
+    }
+
+    // Tokens issued before uid/role claims existed
+    private UsernamePasswordAuthenticationToken authenticateFromDatabase(Claims claims) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!jwtService.isTokenValid(claims, userDetails) || !userDetails.isEnabled()) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()
+        );
+    }
 }
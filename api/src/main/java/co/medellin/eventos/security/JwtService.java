@@ -1,34 +1,99 @@
 package co.medellin.eventos.security;
 
+import co.medellin.eventos.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    @Value("${jwt.secret:changeme}")
-    private String jwtSecret;
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String FAMILY_CLAIM = "fam";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
 
-    @Value("${jwt.expiration:3600000}")
-    private long jwtExpirationMs;
+    private final Key signInKey;
+    private final JwtParser parser;
+    private final long jwtExpirationMs;
+    // Recently verified tokens (by SHA-256), each dropped when the token itself expires
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(@Value("${jwt.secret:changeme}") String jwtSecret,
+                      @Value("${jwt.expiration:3600000}") long jwtExpirationMs,
+                      @Value("${jwt.cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.signInKey = buildKey(jwtSecret);
+        this.parser = signInKey == null ? null : Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        long millisLeft = expiration == null ? 0 : expiration.getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns the claims.
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public Claims parseClaims(String token) {
+        String key = tokenHash(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims == null) {
+            claims = requireKey(parser).parseClaimsJws(token).getBody();
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -36,37 +101,70 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN);
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getRole());
+        }
         return Jwts.builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(requireKey(signInKey), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public String generateRefreshToken(User user, String jti, String familyId, Date expiresAt) {
+        return Jwts.builder()
+                .setId(jti)
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN)
+                .claim(FAMILY_CLAIM, familyId)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(expiresAt)
+                .signWith(requireKey(signInKey), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Keeps the app bootable with the short default secret; only token operations fail
+    private static Key buildKey(String secret) {
+        try {
+            return Keys.hmacShaKeyFor(secret.getBytes());
+        } catch (WeakKeyException e) {
+            log.warn("jwt.secret is shorter than 256 bits; login and token verification are disabled");
+            return null;
+        }
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static <T> T requireKey(T keyOrParser) {
+        if (keyOrParser == null) {
+            throw new IllegalStateException("jwt.secret must be at least 256 bits (32 bytes)");
+        }
+        return keyOrParser;
     }
 
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    /** Hex SHA-256 of a token; what gets stored or used as a cache key instead of the token itself. */
+    public static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,108 @@
+package co.medellin.eventos.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work (signup hashing, login verification) off the request threads on a small
+ * fixed pool. When the pool and its queue are full the caller gets a 503 straight away, so a
+ * login storm can only ever consume these threads, not Tomcat's. The threads also idle after each
+ * hash so that together they use at most cpu-share of the host's CPU: a thread cap alone leaves a
+ * one-core host with one BCrypt thread holding the whole CPU, and thread priorities are ignored on Linux.
+ * Work that waited in the queue past max-queue-wait gets the same 503 instead of a hash, as its
+ * client has likely given up. Callers must continue on their own executor, or the idle time
+ * delays their continuation too.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    // Of each pool thread's time, so the pool as a whole stays within cpu-share of the host
+    private final double threadShare;
+    private final long maxQueueWaitNanos;
+
+    public PasswordHashingExecutor(@Value("${security.bcrypt.threads:0}") int threads,
+                                   @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                   @Value("${security.bcrypt.cpu-share:0.25}") double cpuShare,
+                                   @Value("${security.bcrypt.max-queue-wait:10s}") Duration maxQueueWait,
+                                   MeterRegistry meterRegistry) {
+        if (cpuShare <= 0 || cpuShare > 1) {
+            throw new IllegalArgumentException("security.bcrypt.cpu-share must be in (0, 1], got " + cpuShare);
+        }
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = threads > 0 ? threads : Math.max(1, cores / 2);
+        this.threadShare = Math.min(1, cpuShare * cores / poolSize);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("security.bcrypt.rejected").register(meterRegistry);
+        Gauge.builder("security.bcrypt.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("security.bcrypt.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long submittedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                if (System.nanoTime() - submittedAt > maxQueueWaitNanos) {
+                    rejected.increment();
+                    result.completeExceptionally(busy());
+                    return;
+                }
+                long started = System.nanoTime();
+                long cpuStart = THREADS.getCurrentThreadCpuTime();
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+                // After completing, so the caller is not kept waiting; the queue is
+                idle(THREADS.getCurrentThreadCpuTime() - cpuStart, System.nanoTime() - started);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+        return result;
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Authentication is busy, retry shortly");
+    }
+
+    // Time the hash spent waiting for the CPU already counts as idle, so a contended core is not
+    // given up twice
+    private void idle(long cpuNanos, long wallNanos) {
+        long idleNanos = (long) (cpuNanos / threadShare) - wallNanos;
+        if (idleNanos > 0) {
+            LockSupport.parkNanos(idleNanos);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,120 @@
+package co.medellin.eventos.security;
+
+import co.medellin.eventos.dto.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the expensive or state-changing routes before any authentication work is done.
+ * Callers with a valid bearer token get a bucket per user, everyone else a bucket per client IP.
+ * Buckets live in a bounded map and disappear once idle.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private enum Group { AUTH, WRITE }
+
+    private final Cache<String, RateLimiter> buckets;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+    private final boolean enabled;
+    private final int authCapacity;
+    private final int authRefillPerMinute;
+    private final int writeCapacity;
+    private final int writeRefillPerMinute;
+
+    public RateLimitFilter(JwtService jwtService, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-buckets:100000}") long maxBuckets,
+                           @Value("${rate-limit.idle-expiry:10m}") Duration idleExpiry,
+                           @Value("${rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${rate-limit.auth.refill-per-minute:10}") int authRefillPerMinute,
+                           @Value("${rate-limit.write.capacity:30}") int writeCapacity,
+                           @Value("${rate-limit.write.refill-per-minute:60}") int writeRefillPerMinute) {
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.authCapacity = authCapacity;
+        this.authRefillPerMinute = authRefillPerMinute;
+        this.writeCapacity = writeCapacity;
+        this.writeRefillPerMinute = writeRefillPerMinute;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.rejected = Counter.builder("rate-limit.rejected").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || groupOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Group group = groupOf(request);
+        String client = clientKey(request);
+        RateLimiter limiter = buckets.get(group.name() + '|' + client, key -> group == Group.AUTH
+                ? new RateLimiter(authCapacity, authRefillPerMinute)
+                : new RateLimiter(writeCapacity, writeRefillPerMinute));
+        long waitNanos = limiter.tryAcquire(System.nanoTime());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejected.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests", "Rate limit exceeded, retry in " + retryAfterSeconds + "s",
+                request.getRequestURI(), null));
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        // Served from JwtService's verified-token cache, keyed by the token's hash and dropped when it
+        // expires; made-up or expired tokens can't mint fresh buckets, they fall back to the IP
+        try {
+            Claims claims = jwtService.parseClaims(authHeader.substring(7));
+            Object userId = claims.get(JwtService.USER_ID_CLAIM);
+            return "u:" + (userId != null ? userId : claims.getSubject());
+        } catch (JwtException | IllegalArgumentException | IllegalStateException e) {
+            return "ip:" + request.getRemoteAddr();
+        }
+    }
+
+    private static Group groupOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        if (!path.startsWith("/api/") || "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return null;
+        }
+        return path.startsWith("/api/auth/") ? Group.AUTH : Group.WRITE;
+    }
+}
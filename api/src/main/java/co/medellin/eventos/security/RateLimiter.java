@@ -0,0 +1,39 @@
+package co.medellin.eventos.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket expressed as GCRA: the whole bucket state is one "theoretical arrival time",
+ * so a decision is a single CAS with no lock and no refill bookkeeping.
+ */
+class RateLimiter {
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param capacity      burst size (bucket depth)
+     * @param refillPerMinute sustained rate
+     */
+    RateLimiter(int capacity, int refillPerMinute) {
+        this.emissionIntervalNanos = 60_000_000_000L / Math.max(1, refillPerMinute);
+        this.toleranceNanos = emissionIntervalNanos * Math.max(1, capacity);
+    }
+
+    /**
+     * @return 0 if the request may proceed, otherwise nanoseconds until it would be allowed
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long wait = next - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+}
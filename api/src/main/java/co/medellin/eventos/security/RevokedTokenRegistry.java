@@ -0,0 +1,139 @@
+package co.medellin.eventos.security;
+
+import co.medellin.eventos.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory answer to "has this refresh token been revoked?". A Bloom filter rejects the common
+ * case (never revoked) without touching anything else; positives are confirmed against a bounded
+ * exact set, and only if that set has overflowed does the check fall back to the database.
+ * Rebuilt from refresh_tokens at startup and after each expiry purge.
+ */
+@Component
+public class RevokedTokenRegistry {
+    private static final Logger log = LoggerFactory.getLogger(RevokedTokenRegistry.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int expectedRevocations;
+    private final int maxExactEntries;
+    private volatile Snapshot current;
+    // Non-null while a rebuild is loading, so revocations made meanwhile land in both snapshots
+    private volatile Snapshot building;
+
+    public RevokedTokenRegistry(RefreshTokenRepository refreshTokenRepository,
+                                @Value("${security.refresh.revocation.expected:100000}") int expectedRevocations,
+                                @Value("${security.refresh.revocation.max-exact:100000}") int maxExactEntries,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.maxExactEntries = maxExactEntries;
+        this.current = new Snapshot(expectedRevocations, maxExactEntries);
+        Gauge.builder("security.refresh.revoked", this, r -> r.current.exact.size()).register(meterRegistry);
+    }
+
+    public boolean isRevoked(String jti) {
+        UUID id = parse(jti);
+        if (id == null) {
+            return true;
+        }
+        Snapshot snapshot = current;
+        if (!snapshot.bloom.mightContain(id)) {
+            return false;
+        }
+        if (snapshot.exact.contains(jti)) {
+            return true;
+        }
+        return snapshot.overflowed && refreshTokenRepository.isRevoked(jti);
+    }
+
+    public void revoke(Collection<String> jtis) {
+        Snapshot pending = building;
+        for (String jti : jtis) {
+            current.add(jti);
+            if (pending != null) {
+                pending.add(jti);
+            }
+        }
+    }
+
+    // Revoking before commit would answer "revoked" for a rotation that may still roll back
+    public void revokeAfterCommit(Collection<String> jtis) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revoke(jtis);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revoke(jtis);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // Published before the query: a revocation committed after the query's snapshot is missing from
+        // its result, so it has to reach the new snapshot through revoke(). Sized from the live snapshot,
+        // as the result count is not known yet; an undersized filter only costs more exact-set lookups
+        Snapshot fresh = new Snapshot(Math.max(expectedRevocations, current.added.get() * 2), maxExactEntries);
+        building = fresh;
+        List<String> revoked = refreshTokenRepository.findRevokedJtis(LocalDateTime.now());
+        revoked.forEach(fresh::add);
+        current = fresh;
+        building = null;
+        log.info("Loaded {} revoked refresh tokens", revoked.size());
+    }
+
+    private static UUID parse(String jti) {
+        try {
+            return jti == null ? null : UUID.fromString(jti);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class Snapshot {
+        private final BloomFilter bloom;
+        private final Set<String> exact = ConcurrentHashMap.newKeySet();
+        private final int maxExact;
+        private final AtomicInteger added = new AtomicInteger();
+        private volatile boolean overflowed;
+
+        private Snapshot(int expected, int maxExact) {
+            this.bloom = new BloomFilter(expected, 0.01);
+            this.maxExact = maxExact;
+        }
+
+        private void add(String jti) {
+            UUID id = parse(jti);
+            if (id == null) {
+                return;
+            }
+            added.incrementAndGet();
+            // Bloom bit goes last: a reader that sees it also sees the exact entry or the overflow flag
+            if (exact.size() >= maxExact) {
+                overflowed = true;
+            } else {
+                exact.add(jti);
+            }
+            bloom.add(id);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package co.medellin.eventos.security;
+
+import co.medellin.eventos.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived view of each user's active flag and role, so token authentication can honour
+ * deactivation and role changes without a users query per request. UserService evicts on save;
+ * the TTL bounds staleness for changes made behind its back. A load that overlaps an eviction
+ * drops what it cached (same epoch check as EventService), so it cannot restore the old status.
+ */
+@Component
+public class UserStatusCache {
+    public record UserStatus(boolean active, String role) {
+    }
+
+    private static final UserStatus MISSING = new UserStatus(false, null);
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserStatus> statuses;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${security.user-status.ttl:30s}") Duration ttl,
+                           @Value("${security.user-status.maximum-size:100000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public UserStatus get(Long userId) {
+        UserStatus status = statuses.getIfPresent(userId);
+        if (status == null) {
+            // Queried outside the cache's compute: a load inside it holds a map-bin monitor across the
+            // JDBC call, which pins the carrier on virtual threads. Concurrent misses may query twice.
+            long loadedAt = epoch.get();
+            status = userRepository.findStatusById(userId)
+                    .map(view -> new UserStatus(Boolean.TRUE.equals(view.getIsActive()), view.getRole()))
+                    .orElse(MISSING);
+            statuses.asMap().putIfAbsent(userId, status);
+            if (epoch.get() != loadedAt) {
+                statuses.invalidate(userId);
+            }
+        }
+        return status;
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            // Epoch first: a load that put before this invalidate loses it here, one that puts after sees the new epoch
+            epoch.incrementAndGet();
+            statuses.invalidate(userId);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package co.medellin.eventos.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves dead rows out of the hot tables into events_archive / comments_archive.
+ * Work is done in small chunks, each its own short transaction, and candidates are
+ * claimed with SKIP LOCKED so the job never waits on (or blocks) user writes.
+ */
+@Component
+public class ArchiveJob {
+    private static final Logger log = LoggerFactory.getLogger(ArchiveJob.class);
+
+    private static final String COMMENT_COLUMNS = "id, content, deleted, created_at, updated_at, author_id, event_id, parent_id";
+    private static final String EVENT_COLUMNS = "id, title, description, starts_at, ends_at, location_text, image_url, "
+            + "latitude, longitude, created_by, is_active, created_at, updated_at, view_count, comment_count";
+
+    // Leaves only: a deleted comment that still has replies keeps anchoring its thread
+    private static final String ARCHIVE_DELETED_COMMENTS = """
+            WITH doomed AS (
+                SELECT c.id FROM comments c
+                WHERE c.deleted AND c.updated_at < ?
+                  AND NOT EXISTS (SELECT 1 FROM comments r WHERE r.parent_id = c.id)
+                ORDER BY c.updated_at, c.id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), moved AS (
+                DELETE FROM comments c USING doomed d WHERE c.id = d.id
+                RETURNING c.*
+            )
+            INSERT INTO comments_archive (%1$s) SELECT %1$s FROM moved
+            """.formatted(COMMENT_COLUMNS);
+
+    // Comments of finished events get their own bounded chunks, leaves first like above:
+    // parent_id cascades, so taking a parent before its replies would drop them unarchived
+    private static final String ARCHIVE_FINISHED_EVENT_COMMENTS = """
+            WITH doomed AS (
+                SELECT c.id FROM comments c JOIN events e ON e.id = c.event_id
+                WHERE e.ends_at < ?
+                  AND NOT EXISTS (SELECT 1 FROM comments r WHERE r.parent_id = c.id)
+                ORDER BY c.id
+                LIMIT ?
+                FOR UPDATE OF c SKIP LOCKED
+            ), moved AS (
+                DELETE FROM comments c USING doomed d WHERE c.id = d.id
+                RETURNING c.*
+            )
+            INSERT INTO comments_archive (%1$s) SELECT %1$s FROM moved
+            """.formatted(COMMENT_COLUMNS);
+
+    // Only events whose comments are already archived, so an event chunk stays chunk-size rows
+    private static final String CLAIM_FINISHED_EVENTS = """
+            SELECT id FROM events e
+            WHERE ends_at < ?
+              AND NOT EXISTS (SELECT 1 FROM comments c WHERE c.event_id = e.id)
+            ORDER BY ends_at, id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    // Catches a comment that landed after the drain; deleting the event would otherwise cascade it away
+    private static final String ARCHIVE_EVENT_COMMENTS = """
+            WITH moved AS (DELETE FROM comments WHERE event_id = ANY (?) RETURNING *)
+            INSERT INTO comments_archive (%1$s) SELECT %1$s FROM moved
+            """.formatted(COMMENT_COLUMNS);
+
+    private static final String ARCHIVE_EVENTS = """
+            WITH moved AS (DELETE FROM events WHERE id = ANY (?) RETURNING *)
+            INSERT INTO events_archive (%1$s) SELECT %1$s FROM moved
+            """.formatted(EVENT_COLUMNS);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventService eventService;
+    private final Counter commentsMoved;
+    private final Counter eventsMoved;
+    private final Timer runTimer;
+
+    @Value("${archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${archive.max-chunks-per-run:1000}")
+    private int maxChunksPerRun;
+
+    @Value("${archive.comments.retention-days:30}")
+    private int commentRetentionDays;
+
+    @Value("${archive.events.retention-days:365}")
+    private int eventRetentionDays;
+
+    public ArchiveJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                      EventService eventService, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventService = eventService;
+        this.commentsMoved = Counter.builder("archive.rows.moved").tag("table", "comments").register(meterRegistry);
+        this.eventsMoved = Counter.builder("archive.rows.moved").tag("table", "events").register(meterRegistry);
+        this.runTimer = Timer.builder("archive.run").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 40 3 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        runTimer.record(() -> {
+            long comments = archiveDeletedComments(LocalDateTime.now().minusDays(commentRetentionDays));
+            long events = archiveFinishedEvents(LocalDateTime.now().minusDays(eventRetentionDays));
+            log.info("Archived {} deleted comments and {} finished events", comments, events);
+        });
+    }
+
+    long archiveDeletedComments(LocalDateTime deletedBefore) {
+        long total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int moved = jdbcTemplate.update(ARCHIVE_DELETED_COMMENTS, Timestamp.valueOf(deletedBefore), chunkSize);
+            commentsMoved.increment(moved);
+            total += moved;
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    long archiveFinishedEvents(LocalDateTime endedBefore) {
+        archiveFinishedEventComments(endedBefore);
+        long total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            EventChunk moved = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(CLAIM_FINISHED_EVENTS, Long.class,
+                        Timestamp.valueOf(endedBefore), chunkSize);
+                if (ids.isEmpty()) {
+                    return new EventChunk(0, 0);
+                }
+                Array idArray = jdbcTemplate.execute(
+                        (ConnectionCallback<Array>) con -> con.createArrayOf("bigint", ids.toArray()));
+                int comments = jdbcTemplate.update(ARCHIVE_EVENT_COMMENTS, idArray);
+                int events = jdbcTemplate.update(ARCHIVE_EVENTS, idArray);
+                // Cached details would keep showing the event as live until they expire
+                eventService.evictAfterCommit(ids);
+                return new EventChunk(events, comments);
+            });
+            // Counted once committed, so a rolled back chunk never shows up as moved
+            commentsMoved.increment(moved.comments());
+            eventsMoved.increment(moved.events());
+            total += moved.events();
+            if (moved.events() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Each statement is its own transaction; a pass only takes leaves, so keep going until nothing moves
+    private void archiveFinishedEventComments(LocalDateTime endedBefore) {
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int moved = jdbcTemplate.update(ARCHIVE_FINISHED_EVENT_COMMENTS, Timestamp.valueOf(endedBefore), chunkSize);
+            commentsMoved.increment(moved);
+            if (moved == 0) {
+                break;
+            }
+        }
+    }
+
+    private record EventChunk(int events, int comments) {
+    }
+}
@@ -0,0 +1,21 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.dto.CommentDto;
+
+/**
+ * Published by CommentService inside the writing transaction; listeners react after commit.
+ */
+public class CommentChange {
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final CommentDto comment;
+
+    public CommentChange(Type type, CommentDto comment) {
+        this.type = type;
+        this.comment = comment;
+    }
+
+    public Type getType() { return type; }
+    public CommentDto getComment() { return comment; }
+}
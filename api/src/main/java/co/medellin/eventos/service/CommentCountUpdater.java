@@ -0,0 +1,112 @@
+package co.medellin.eventos.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps events.comment_count in step with live comments. Committed creates/deletes are
+ * coalesced per event in memory and applied in one JDBC batch; a periodic reconciliation
+ * recounts from the comments table in id ranges to repair any drift. A delta queued in the
+ * instant between a range's discard and its recount statement can still be applied twice;
+ * the next reconciliation repairs it.
+ */
+@Component
+public class CommentCountUpdater {
+    private static final Logger log = LoggerFactory.getLogger(CommentCountUpdater.class);
+
+    private static final String RECONCILE_RANGE = """
+            UPDATE events e SET comment_count = s.live
+            FROM (
+                SELECT ev.id, (SELECT count(*) FROM comments c WHERE c.event_id = ev.id AND NOT c.deleted) AS live
+                FROM events ev
+                WHERE ev.id > ? AND ev.id <= ?
+            ) s
+            WHERE e.id = s.id AND e.comment_count <> s.live
+            """;
+
+    private final CounterBuffer pending = new CounterBuffer();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter reconciledEvents;
+
+    @Value("${comments.count.reconcile-chunk-size:5000}")
+    private int reconcileChunkSize;
+
+    public CommentCountUpdater(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconciledEvents = Counter.builder("comments.count.reconciled").register(meterRegistry);
+        Gauge.builder("comments.count.pending", pending, CounterBuffer::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onCommentChange(CommentChange change) {
+        if (change.getType() == CommentChange.Type.CREATED) {
+            pending.add(change.getComment().getEventId(), 1);
+        } else if (change.getType() == CommentChange.Type.DELETED) {
+            pending.add(change.getComment().getEventId(), -1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${comments.count.flush-interval-ms:2000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Object[]> batch = pending.drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                jdbcTemplate.batchUpdate("UPDATE events SET comment_count = comment_count + ? WHERE id = ?", batch);
+            } catch (DataAccessException e) {
+                log.warn("Could not flush {} comment count deltas, retrying next cycle", batch.size(), e);
+                pending.restore(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${comments.count.reconcile-cron:0 17 3 * * *}")
+    public void reconcile() {
+        flushLock.lock();
+        try {
+            flush();
+            Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM events", Long.class);
+            if (maxId == null) {
+                return;
+            }
+            long fixed = 0;
+            // small id ranges, one statement each, so no long-held row locks
+            for (long from = 0; from < maxId; from += reconcileChunkSize) {
+                // Deltas queued since the flush belong to comments already committed, which the recount
+                // below sees; applying them afterwards as well would count those comments twice
+                pending.discard(from, from + reconcileChunkSize);
+                fixed += jdbcTemplate.update(RECONCILE_RANGE, from, from + reconcileChunkSize);
+            }
+            reconciledEvents.increment(fixed);
+            if (fixed > 0) {
+                log.info("Reconciled comment counts of {} events", fixed);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,139 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.dto.CommentDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point for new comments. In {@code direct} mode each comment is its own transaction;
+ * in {@code batched} mode comments wait in a bounded queue and a single writer thread
+ * group-commits them, completing each caller's future with the assigned id.
+ */
+@Service
+public class CommentIngestService {
+    private static final Logger log = LoggerFactory.getLogger(CommentIngestService.class);
+
+    private final CommentService commentService;
+    private final boolean batched;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<PendingComment> queue;
+    private final DistributionSummary batchSizes;
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public CommentIngestService(CommentService commentService,
+                                MeterRegistry meterRegistry,
+                                @Value("${comments.ingest.mode:direct}") String mode,
+                                @Value("${comments.ingest.queue-capacity:10000}") int queueCapacity,
+                                @Value("${comments.ingest.batch-size:200}") int batchSize,
+                                @Value("${comments.ingest.linger-ms:10}") long lingerMillis) {
+        this.commentService = commentService;
+        this.batched = "batched".equalsIgnoreCase(mode);
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("comments.ingest.batch.size").register(meterRegistry);
+        Gauge.builder("comments.ingest.queue", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (batched) {
+            writer = new Thread(this::writeLoop, "comment-writer");
+            writer.start();
+        }
+    }
+
+    public CompletableFuture<CommentDto> submit(CommentDto dto) {
+        if (!batched) {
+            return CompletableFuture.completedFuture(commentService.createComment(dto));
+        }
+        PendingComment pending = new PendingComment(dto, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Comment queue is full, retry shortly");
+        }
+        return pending.result();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingComment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingComment first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Linger briefly so a burst shares one commit, but never past batchSize
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingComment next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Comment writer failed on a batch of {}", batch.size(), e);
+                batch.forEach(p -> p.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingComment> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<CommentDto> created = commentService.createComments(batch.stream().map(PendingComment::dto).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(created.get(i));
+            }
+        } catch (RuntimeException e) {
+            // Retry row by row so one bad comment doesn't reject the whole group
+            for (PendingComment pending : batch) {
+                try {
+                    pending.result().complete(commentService.createComment(pending.dto()));
+                } catch (RuntimeException rowError) {
+                    pending.result().completeExceptionally(rowError);
+                }
+            }
+        }
+    }
+
+    private record PendingComment(CommentDto dto, CompletableFuture<CommentDto> result) {
+    }
+}
@@ -1,24 +1,44 @@
 package co.medellin.eventos.service;
 
 import co.medellin.eventos.dto.CommentDto;
+import co.medellin.eventos.dto.CommentNodeDto;
+import co.medellin.eventos.dto.CursorPage;
 import co.medellin.eventos.model.Comment;
 import co.medellin.eventos.repository.CommentRepository;
+import co.medellin.eventos.repository.CommentStats;
+import co.medellin.eventos.repository.CommentTreeRow;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class CommentService {
+    // Bounds for first pages; PostgreSQL timestamps cannot hold LocalDateTime.MIN
+    private static final LocalDateTime THREADS_START = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime NEWEST_START = LocalDateTime.of(9999, 12, 31, 23, 59);
 
     private final CommentRepository commentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private CommentDto toDto(Comment comment) {
+    static CommentDto toDto(Comment comment) {
         CommentDto dto = new CommentDto();
         dto.setId(comment.getId());
         dto.setContent(comment.getContent());
@@ -27,30 +47,171 @@ public class CommentService {
         dto.setUpdatedAt(comment.getUpdatedAt());
         dto.setAuthorId(comment.getAuthor());
         dto.setEventId(comment.getEvent());
+        dto.setParentId(comment.getParent() != null ? comment.getParent().getId() : null);
 
         return dto;
     }
 
-    public List<CommentDto> getCommentsByEvent(Long eventId) {
-        return commentRepository.findByEvent(eventId)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CommentStats getCommentStats(Long eventId) {
+        return commentRepository.findStatsByEvent(eventId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getCommentsByEvent(Long eventId, String cursor, int size, boolean newestFirst) {
+        LocalDateTime createdAt = newestFirst ? NEWEST_START : THREADS_START;
+        long id = newestFirst ? Long.MAX_VALUE : 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = CursorCodec.decode(cursor, 2);
+            try {
+                createdAt = LocalDateTime.parse(position[0]);
+                id = Long.parseLong(position[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw CursorCodec.invalidCursor(e);
+            }
+        }
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Comment> comments = newestFirst
+                ? commentRepository.findLiveBefore(eventId, createdAt, id, limit)
+                : commentRepository.findLiveAfter(eventId, createdAt, id, limit);
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            Comment last = comments.get(size - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(comments.stream().map(CommentService::toDto).collect(Collectors.toList()), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CommentNodeDto> getThreads(Long eventId, String cursor, int size, int maxDepth, int maxReplies) {
+        LocalDateTime afterCreatedAt = THREADS_START;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = CursorCodec.decode(cursor, 2);
+            try {
+                afterCreatedAt = LocalDateTime.parse(position[0]);
+                afterId = Long.parseLong(position[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw CursorCodec.invalidCursor(e);
+            }
+        }
+        List<CommentTreeRow> rows = commentRepository.findThreads(eventId, afterCreatedAt, afterId, size, maxDepth, maxReplies);
+
+        // Rows come ordered by depth, so every parent is indexed before its replies: O(n) assembly
+        Map<Long, CommentNodeDto> nodes = new HashMap<>();
+        List<CommentNodeDto> roots = new ArrayList<>();
+        boolean moreThreads = false;
+        for (CommentTreeRow row : rows) {
+            if (row.getOverflow()) {
+                // Only says there is more past the cap; never listed
+                if (row.getDepth() == 0) {
+                    moreThreads = true;
+                } else if (nodes.containsKey(row.getParentId())) {
+                    nodes.get(row.getParentId()).setMoreReplies(true);
+                }
+                continue;
+            }
+            CommentNodeDto node = toNode(row);
+            nodes.put(node.getId(), node);
+            if (row.getDepth() == 0) {
+                roots.add(node);
+            } else {
+                CommentNodeDto parent = nodes.get(row.getParentId());
+                if (parent != null) {
+                    parent.getReplies().add(node);
+                }
+            }
+        }
+        String nextCursor = null;
+        if (moreThreads && !roots.isEmpty()) {
+            CommentNodeDto last = roots.get(roots.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(roots, nextCursor);
+    }
+
+    private static CommentNodeDto toNode(CommentTreeRow row) {
+        CommentNodeDto node = new CommentNodeDto();
+        node.setId(row.getId());
+        // deleted comments stay in the tree as placeholders so their replies keep a parent
+        node.setContent(row.getDeleted() ? null : row.getContent());
+        node.setDeleted(row.getDeleted());
+        node.setCreatedAt(row.getCreatedAt());
+        node.setUpdatedAt(row.getUpdatedAt());
+        node.setAuthorId(row.getAuthorId());
+        node.setEventId(row.getEventId());
+        node.setParentId(row.getParentId());
+        node.setDepth(row.getDepth());
+        return node;
     }
 
     @Transactional
     public CommentDto createComment(CommentDto dto) {
+        Comment parent = null;
+        if (dto.getParentId() != null) {
+            parent = commentRepository.findById(dto.getParentId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parent comment not found"));
+        }
+        Comment comment = commentRepository.save(newComment(dto, parent, now()));
+
+        CommentDto created = toDto(comment);
+        eventPublisher.publishEvent(new CommentChange(CommentChange.Type.CREATED, created));
+        return created;
+    }
+
+    /**
+     * Inserts a batch of comments in one transaction (JDBC-batched thanks to the pooled id sequence).
+     * All or nothing: any invalid row fails the whole call, so callers can retry row by row.
+     */
+    @Transactional
+    public List<CommentDto> createComments(List<CommentDto> dtos) {
+        List<Long> parentIds = dtos.stream().map(CommentDto::getParentId).filter(Objects::nonNull).distinct().toList();
+        Map<Long, Comment> parents = commentRepository.findAllById(parentIds).stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+        List<Comment> comments = new ArrayList<>(dtos.size());
+        LocalDateTime now = now();
+        for (CommentDto dto : dtos) {
+            Comment parent = null;
+            if (dto.getParentId() != null) {
+                parent = parents.get(dto.getParentId());
+                if (parent == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parent comment not found");
+                }
+            }
+            comments.add(newComment(dto, parent, now));
+        }
+        commentRepository.saveAll(comments);
+        commentRepository.flush();
+
+        List<CommentDto> created = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            CommentDto dto = toDto(comment);
+            eventPublisher.publishEvent(new CommentChange(CommentChange.Type.CREATED, dto));
+            created.add(dto);
+        }
+        return created;
+    }
+
+    // PostgreSQL keeps microseconds; what is returned and broadcast should match the stored row
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Timestamps are the server's: the keyset pages and ETags order and version by them
+    private static Comment newComment(CommentDto dto, Comment parent, LocalDateTime now) {
+        if (parent != null && !parent.getEvent().equals(dto.getEventId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parent comment belongs to another event");
+        }
         Comment comment = new Comment();
         comment.setContent(dto.getContent());
         comment.setDeleted(false);
-        comment.setCreatedAt(dto.getCreatedAt());
-        comment.setUpdatedAt(dto.getUpdatedAt());
+        comment.setCreatedAt(now);
+        comment.setUpdatedAt(now);
         comment.setAuthor(dto.getAuthorId());
         comment.setEvent(dto.getEventId());
-
-        comment = commentRepository.save(comment);
-
-        return toDto(comment);
+        comment.setParent(parent);
+        return comment;
     }
 
     @Transactional
@@ -59,18 +220,24 @@ public class CommentService {
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
 
         comment.setContent(dto.getContent());
-        comment.setUpdatedAt(LocalDateTime.now());
+        comment.setUpdatedAt(now());
         comment = commentRepository.save(comment);
 
-        return toDto(comment);
+        CommentDto updated = toDto(comment);
+        eventPublisher.publishEvent(new CommentChange(CommentChange.Type.UPDATED, updated));
+        return updated;
     }
 
     @Transactional
     public void deleteComment(Long id) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
+        boolean wasLive = !comment.isDeleted();
         comment.setDeleted(true);
-        comment.setUpdatedAt(LocalDateTime.now());
+        comment.setUpdatedAt(now());
         commentRepository.save(comment);
+        if (wasLive) {
+            eventPublisher.publishEvent(new CommentChange(CommentChange.Type.DELETED, toDto(comment)));
+        }
     }
 }
@@ -0,0 +1,236 @@
+package co.medellin.eventos.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of committed comment changes to SSE subscribers of an event.
+ * Connections are parked as async requests, so an idle subscriber holds no thread;
+ * each subscriber with queued events gets its own sender thread from a capped elastic pool,
+ * because a send blocks for as long as the client does not read. A subscriber whose queue
+ * overflows, or whose send is stuck past {@code comments.stream.send-timeout-ms}, is
+ * disconnected and is expected to reconnect and refetch the page.
+ */
+@Component
+public class CommentStreamHub {
+    private static final Logger log = LoggerFactory.getLogger(CommentStreamHub.class);
+
+    private final Map<Long, Set<Subscriber>> subscribersByEvent = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender;
+    private final Counter evictions;
+
+    @Value("${comments.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${comments.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${comments.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${comments.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    public CommentStreamHub(@Value("${comments.stream.max-sender-threads:256}") int maxSenderThreads,
+                            MeterRegistry meterRegistry) {
+        // No queue: a drain either gets a thread of its own or is rejected, never waits behind a stuck one
+        this.sender = new ThreadPoolExecutor(0, maxSenderThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new CustomizableThreadFactory("comment-stream-"));
+        this.evictions = Counter.builder("comments.stream.evicted").register(meterRegistry);
+        Gauge.builder("comments.stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long eventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live comment streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(eventId, emitter, bufferSize);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> subscriber.close(false));
+        emitter.onError(e -> remove(subscriber));
+        // Added under the map's lock, as remove() empties and drops the set, so the add cannot land in a
+        // set that was just dropped
+        subscribersByEvent.compute(eventId, (id, set) -> {
+            Set<Subscriber> subscribers = set == null ? ConcurrentHashMap.newKeySet() : set;
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+        // Flushes the response headers right away so proxies and browsers see an open stream
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onCommentChange(CommentChange change) {
+        Set<Subscriber> subscribers = subscribersByEvent.get(change.getComment().getEventId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        // Serialized once per change and shared by every subscriber
+        Set<DataWithMediaType> payload = SseEmitter.event()
+                .id(String.valueOf(change.getComment().getId()))
+                .name("comment." + change.getType().name().toLowerCase(Locale.ROOT))
+                .data(change.getComment(), MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(payload);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${comments.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        for (Set<Subscriber> subscribers : subscribersByEvent.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(ping);
+            }
+        }
+    }
+
+    // Tomcat only gives up on a write to a client that stopped reading after its connection timeout;
+    // until then the subscriber would keep queueing, so it is dropped here. Its sender thread is
+    // released when that write fails.
+    @Scheduled(fixedDelayString = "${comments.stream.send-check-ms:1000}")
+    public void evictStuckSenders() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> subscribers : subscribersByEvent.values()) {
+            for (Subscriber subscriber : subscribers) {
+                long started = subscriber.sendStartedAt;
+                if (started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis)) {
+                    evictions.increment();
+                    log.debug("Evicting stuck comment stream subscriber of event {}", subscriber.eventId);
+                    subscriber.close(true);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> subscribers : subscribersByEvent.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.close(false);
+            }
+        }
+        sender.shutdown();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            subscribersByEvent.computeIfPresent(subscriber.eventId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private final class Subscriber {
+        private final Long eventId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean completing;
+        private volatile long sendStartedAt;
+
+        private Subscriber(Long eventId, SseEmitter emitter, int capacity) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void offer(Set<DataWithMediaType> payload) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(payload)) {
+                evictions.increment();
+                log.debug("Evicting slow comment stream subscriber of event {}", eventId);
+                close(false);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    close(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> payload;
+                while (!closed && (payload = queue.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        emitter.send(payload);
+                    } catch (Exception e) {
+                        // Client went away; the container reports it through onError/onCompletion
+                        close(true);
+                    } finally {
+                        sendStartedAt = 0;
+                    }
+                }
+                draining.set(false);
+                // Re-check: an offer may have landed after the last poll but before the flag was cleared
+            } while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
+            completeIfIdle();
+        }
+
+        private void close(boolean failed) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            remove(this);
+            if (!failed) {
+                completing = true;
+                completeIfIdle();
+            }
+        }
+
+        // complete() waits for the emitter lock that an in-flight send holds, so the caller (often a
+        // request thread publishing a comment) never calls it then; the drain completes on its way out.
+        // Whoever wins the drain flag completes, and keeps the flag so no drain starts afterwards.
+        private void completeIfIdle() {
+            if (completing && draining.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+}
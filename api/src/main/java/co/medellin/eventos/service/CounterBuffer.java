@@ -0,0 +1,56 @@
+package co.medellin.eventos.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-event counter deltas accumulated in memory, drained as JDBC batch arguments
+ * of the form {delta, eventId}.
+ */
+class CounterBuffer {
+    // merge and remove are atomic per key: a delta lands either in this drain or in the next one
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    void add(Long eventId, long delta) {
+        pending.merge(eventId, delta, Long::sum);
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    List<Object[]> drain() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Long eventId : pending.keySet()) {
+            Long delta = pending.remove(eventId);
+            if (delta != null && delta != 0) {
+                batch.add(new Object[]{delta, eventId});
+            }
+        }
+        // consistent row order keeps concurrent flushes from different instances deadlock-free
+        batch.sort(Comparator.comparing(row -> (Long) row[1]));
+        return batch;
+    }
+
+    /**
+     * Drops the deltas of events in (fromExclusive, toInclusive], for a caller about to recount
+     * those rows from the source table; returns how many events had one.
+     */
+    int discard(long fromExclusive, long toInclusive) {
+        int discarded = 0;
+        for (Long eventId : pending.keySet()) {
+            if (eventId > fromExclusive && eventId <= toInclusive && pending.remove(eventId) != null) {
+                discarded++;
+            }
+        }
+        return discarded;
+    }
+
+    void restore(List<Object[]> batch) {
+        for (Object[] row : batch) {
+            add((Long) row[1], (Long) row[0]);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package co.medellin.eventos.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursor strings.
+ */
+public final class CursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {}
+
+    public static String encode(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append(SEPARATOR);
+            sb.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(e);
+        }
+        // the last part may itself contain the separator
+        String[] parts = raw.split("\\|", expectedParts);
+        if (parts.length != expectedParts) {
+            throw invalidCursor(null);
+        }
+        return parts;
+    }
+
+    /**
+     * The 400 for a cursor that does not decode or whose parts do not parse; the client sent it, so it is their error.
+     */
+    public static ResponseStatusException invalidCursor(Throwable cause) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", cause);
+    }
+}
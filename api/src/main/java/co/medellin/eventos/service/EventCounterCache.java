@@ -0,0 +1,57 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.repository.EventCounters;
+import co.medellin.eventos.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * View and comment counters for event details, kept apart from the event cache because they move on
+ * every view and comment. Both reach the database in periodic flushes anyway, so a TTL of about one
+ * flush interval costs no freshness and leaves a hot event at one counters query per TTL.
+ */
+@Component
+public class EventCounterCache {
+    private final EventRepository eventRepository;
+    private final Cache<Long, EventCounters> counters;
+
+    public EventCounterCache(EventRepository eventRepository,
+                             @Value("${events.counters.ttl:5s}") Duration ttl,
+                             @Value("${events.counters.maximum-size:10000}") long maximumSize) {
+        this.eventRepository = eventRepository;
+        this.counters = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public Optional<EventCounters> get(Long eventId) {
+        EventCounters cached = counters.getIfPresent(eventId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Loaded outside the cache's compute, as in UserStatusCache; concurrent misses may query twice
+        Optional<EventCounters> loaded = eventRepository.findCountersById(eventId)
+                .map(view -> new Snapshot(view.getViewCount(), view.getCommentCount()));
+        loaded.ifPresent(snapshot -> counters.put(eventId, snapshot));
+        return loaded;
+    }
+
+    // Detached from the query's projection proxy
+    private record Snapshot(long viewCount, long commentCount) implements EventCounters {
+        @Override
+        public long getViewCount() {
+            return viewCount;
+        }
+
+        @Override
+        public long getCommentCount() {
+            return commentCount;
+        }
+    }
+}
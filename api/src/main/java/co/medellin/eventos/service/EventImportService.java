@@ -0,0 +1,265 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.dto.EventDto;
+import co.medellin.eventos.dto.ImportReport;
+import co.medellin.eventos.model.Event;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Streams NDJSON/CSV event rows from the request body and inserts them in
+ * JDBC-batched chunks, one transaction per chunk.
+ */
+@Service
+public class EventImportService {
+    private static final Logger log = LoggerFactory.getLogger(EventImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    public enum Format { NDJSON, CSV }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${events.import.batch-size:500}")
+    private int batchSize;
+
+    public ImportReport importEvents(InputStream input, Format format) throws IOException {
+        ImportReport report = new ImportReport();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        Map<String, Integer> csvHeader = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvHeader == null) {
+                csvHeader = parseCsvHeader(line);
+                continue;
+            }
+            try {
+                EventDto dto = format == Format.NDJSON
+                        ? objectMapper.readValue(line, EventDto.class)
+                        : fromCsv(csvHeader, parseCsvLine(line));
+                String error = validate(dto);
+                if (error != null) {
+                    reject(report, lineNumber, error);
+                    continue;
+                }
+                batch.add(new PendingRow(lineNumber, EventService.toEntity(dto)));
+            } catch (JsonProcessingException e) {
+                reject(report, lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            } catch (RuntimeException e) {
+                reject(report, lineNumber, "Invalid row: " + e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, report);
+                batch.clear();
+            }
+        }
+        flush(batch, report);
+        return report;
+    }
+
+    private void flush(List<PendingRow> batch, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistAll(batch));
+            report.setImported(report.getImported() + batch.size());
+        } catch (PersistenceException | DataAccessException e) {
+            // Retry row by row so one bad reference doesn't reject the whole chunk
+            for (PendingRow row : batch) {
+                row.event().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistAll(List.of(row)));
+                    report.setImported(report.getImported() + 1);
+                } catch (PersistenceException | DataAccessException rowError) {
+                    reject(report, row.line(), storeError(row.line(), rowError));
+                }
+            }
+        }
+    }
+
+    private void persistAll(List<PendingRow> rows) {
+        for (PendingRow row : rows) {
+            entityManager.persist(row.event());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String validate(EventDto dto) {
+        if (isBlank(dto.getTitle()) || dto.getTitle().length() > 200) {
+            return "title is required (max 200 characters)";
+        }
+        if (isBlank(dto.getDescription())) {
+            return "description is required";
+        }
+        if (isBlank(dto.getLocationText()) || dto.getLocationText().length() > 255) {
+            return "locationText is required (max 255 characters)";
+        }
+        if (dto.getImageUrl() != null && dto.getImageUrl().length() > 255) {
+            return "imageUrl must be at most 255 characters";
+        }
+        if (dto.getStartsAt() == null || dto.getEndsAt() == null) {
+            return "startsAt and endsAt are required";
+        }
+        if (dto.getEndsAt().isBefore(dto.getStartsAt())) {
+            return "endsAt must not be before startsAt";
+        }
+        if (dto.getCreatedBy() == null) {
+            return "createdBy is required";
+        }
+        if ((dto.getLatitude() == null) != (dto.getLongitude() == null)) {
+            return "latitude and longitude must be given together";
+        }
+        if (dto.getLatitude() != null && (Math.abs(dto.getLatitude()) > 90 || Math.abs(dto.getLongitude()) > 180)) {
+            return "coordinates out of range";
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (dto.getIsActive() == null) dto.setIsActive(true);
+        if (dto.getCreatedAt() == null) dto.setCreatedAt(now);
+        if (dto.getUpdatedAt() == null) dto.setUpdatedAt(now);
+        return null;
+    }
+
+    private EventDto fromCsv(Map<String, Integer> header, List<String> values) {
+        EventDto dto = new EventDto();
+        dto.setTitle(csvValue(header, values, "title"));
+        dto.setDescription(csvValue(header, values, "description"));
+        dto.setStartsAt(parse(csvValue(header, values, "startsAt"), LocalDateTime::parse));
+        dto.setEndsAt(parse(csvValue(header, values, "endsAt"), LocalDateTime::parse));
+        dto.setLocationText(csvValue(header, values, "locationText"));
+        dto.setImageUrl(csvValue(header, values, "imageUrl"));
+        dto.setLatitude(parse(csvValue(header, values, "latitude"), Double::valueOf));
+        dto.setLongitude(parse(csvValue(header, values, "longitude"), Double::valueOf));
+        dto.setCreatedBy(parse(csvValue(header, values, "createdBy"), Long::valueOf));
+        dto.setIsActive(parse(csvValue(header, values, "isActive"), Boolean::valueOf));
+        return dto;
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names;
+        try {
+            names = parseCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid CSV header: " + e.getMessage(), e);
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(), i);
+        }
+        return header;
+    }
+
+    private static String csvValue(Map<String, Integer> header, List<String> values, String column) {
+        Integer index = header.get(column.toLowerCase());
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and "" escapes
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value.trim());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static void reject(ImportReport report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReport.RowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    // The driver's text names tables, constraints and values: the caller gets a category, the log the detail
+    private static String storeError(long line, Throwable e) {
+        SQLException sqlError = null;
+        Throwable root = e;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException candidate && sqlError == null) {
+                sqlError = candidate;
+            }
+            root = cause;
+        }
+        log.warn("Import row {} could not be stored: {}", line, root.getMessage());
+        // SQLSTATE class 23: integrity constraint violation
+        if (sqlError != null && sqlError.getSQLState() != null && sqlError.getSQLState().startsWith("23")) {
+            return "Violates a data constraint (for example createdBy is not an existing user)";
+        }
+        return "Could not be stored";
+    }
+
+    private record PendingRow(long line, Event event) {}
+}
@@ -1,50 +1,229 @@
 package co.medellin.eventos.service;
 
+import co.medellin.eventos.dto.CursorPage;
+import co.medellin.eventos.dto.EventDayCountDto;
 import co.medellin.eventos.dto.EventDto;
+import co.medellin.eventos.dto.EventSummaryDto;
+import co.medellin.eventos.dto.NearbyEventDto;
 import co.medellin.eventos.model.Event;
+import co.medellin.eventos.repository.ArchivedEventView;
+import co.medellin.eventos.repository.EventCounters;
 import co.medellin.eventos.repository.EventRepository;
+import co.medellin.eventos.repository.EventSummaryView;
+import co.medellin.eventos.repository.NearbyEventView;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 public class EventService {
+    public static final String EVENT_CACHE = "events";
+    // One grid cell of slack on each side, so rounding at the box edge never drops a cell
+    private static final double BOX_PADDING_DEGREES = 0.01;
+    // Grid of V16__event_geo_cell.sql: geo_cell = lat_row * GEO_CELL_COLUMNS + lon_col, 0.01 degree steps
+    private static final int GEO_CELLS_PER_DEGREE = 100;
+    private static final int GEO_CELL_COLUMNS = 36001;
+
     @Autowired
     private EventRepository eventRepository;
+    @Autowired
+    private EventCounterCache eventCounterCache;
+    @Autowired
+    private CacheManager cacheManager;
+    // Bumped after every committed write that evicts; see findById
+    private final AtomicLong cacheEpoch = new AtomicLong();
 
-    public Page<Event> findAll(Pageable pageable) {
-        return eventRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> findSummaries(Pageable pageable) {
+        return eventRepository.findSummaries(pageable);
     }
 
-    public EventDto findById(Long id) {
-        Optional<Event> eventOpt = eventRepository.findById(id);
-
-        if (eventOpt.isPresent()) {
-            Event event = eventOpt.get();
-            EventDto dto = new EventDto();
-            dto.setId(event.getId());
-            dto.setTitle(event.getTitle());
-            dto.setDescription(event.getDescription());
-            dto.setStartsAt(event.getStartsAt());
-            dto.setEndsAt(event.getEndsAt());
-            dto.setLocationText(event.getLocationText());
-            dto.setImageUrl(event.getImageUrl());
-            dto.setCreatedBy(event.getCreatedBy());
-            dto.setIsActive(event.getIsActive());
-            dto.setCreatedAt(event.getCreatedAt());
-            dto.setUpdatedAt(event.getUpdatedAt());
-            return dto;
+    @Transactional(readOnly = true)
+    public CursorPage<EventSummaryDto> findPage(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<EventSummaryDto> events;
+        if (cursor == null || cursor.isBlank()) {
+            events = eventRepository.findFirstByStartsAt(limit);
         } else {
-            return null;
+            String[] position = CursorCodec.decode(cursor, 2);
+            LocalDateTime startsAt;
+            long id;
+            try {
+                startsAt = LocalDateTime.parse(position[0]);
+                id = Long.parseLong(position[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw CursorCodec.invalidCursor(e);
+            }
+            events = eventRepository.findAfterByStartsAt(startsAt, id, limit);
         }
+        String nextCursor = null;
+        if (events.size() > size) {
+            events = events.subList(0, size);
+            EventSummaryDto last = events.get(size - 1);
+            nextCursor = CursorCodec.encode(last.getStartsAt(), last.getId());
+        }
+        return new CursorPage<>(events, nextCursor);
     }
 
-    public Event saveEvent(EventDto dto) {
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> search(String query, Pageable pageable) {
+        return eventRepository.search(query.trim(), pageable).stream()
+                .map(this::toSummary)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> findUpcoming(Pageable pageable) {
+        return eventRepository.findUpcoming(LocalDateTime.now(), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> findHappeningNow(Pageable pageable) {
+        return eventRepository.findHappeningAt(LocalDateTime.now(), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> findBetween(LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+        return eventRepository.findBetween(from, to, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventDayCountDto> countByDay(YearMonth month) {
+        return eventRepository.countByStartDay(month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<NearbyEventDto> findNearby(double lat, double lon, double radiusKm, String cursor, int size) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180 || radiusKm <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid coordinates or radius");
+        }
+        double afterDistance = -1;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = CursorCodec.decode(cursor, 2);
+            try {
+                afterDistance = Double.parseDouble(position[0]);
+                afterId = Long.parseLong(position[1]);
+            } catch (NumberFormatException e) {
+                throw CursorCodec.invalidCursor(e);
+            }
+        }
+        // Exact bounding box of the spherical cap HAVERSINE_KM measures: the widest longitude span is
+        // reached away from the centre's latitude, hence asin(sin d / cos lat) rather than d / cos lat
+        double angularRadius = radiusKm / EventRepository.EARTH_RADIUS_KM;
+        double latDelta = Math.toDegrees(angularRadius) + BOX_PADDING_DEGREES;
+        double sinRatio = Math.sin(Math.min(angularRadius, Math.PI / 2)) / Math.cos(Math.toRadians(lat));
+        double lonDelta = sinRatio >= 1 || angularRadius >= Math.PI / 2
+                ? 180
+                : Math.min(180, Math.toDegrees(Math.asin(sinRatio)) + BOX_PADDING_DEGREES);
+        // Grid rows and columns covering the bounding box of the circle
+        int firstRow = geoCell(Math.max(lat - latDelta, -90) + 90);
+        int lastRow = geoCell(Math.min(lat + latDelta, 90) + 90);
+        List<NearbyEventView> rows = eventRepository.findNearby(lat, lon, radiusKm,
+                firstRow * GEO_CELL_COLUMNS, lastRow * GEO_CELL_COLUMNS, GEO_CELL_COLUMNS,
+                geoCell(Math.max(lon - lonDelta, -180) + 180), geoCell(Math.min(lon + lonDelta, 180) + 180),
+                afterDistance, afterId, size + 1);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            NearbyEventView last = rows.get(size - 1);
+            nextCursor = CursorCodec.encode(last.getDistanceKm(), last.getId());
+        }
+        List<NearbyEventDto> items = rows.stream()
+                .map(row -> new NearbyEventDto(toSummary(row), row.getDistanceKm()))
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private static int geoCell(double degreesFromOrigin) {
+        return (int) Math.floor(degreesFromOrigin * GEO_CELLS_PER_DEGREE);
+    }
+
+    static EventDto toDto(Event event) {
+        EventDto dto = new EventDto();
+        dto.setId(event.getId());
+        dto.setTitle(event.getTitle());
+        dto.setDescription(event.getDescription());
+        dto.setStartsAt(event.getStartsAt());
+        dto.setEndsAt(event.getEndsAt());
+        dto.setLocationText(event.getLocationText());
+        dto.setImageUrl(event.getImageUrl());
+        dto.setLatitude(event.getLatitude());
+        dto.setLongitude(event.getLongitude());
+        dto.setCreatedBy(event.getCreatedBy());
+        dto.setIsActive(event.getIsActive());
+        dto.setCreatedAt(event.getCreatedAt());
+        dto.setUpdatedAt(event.getUpdatedAt());
+        dto.setViewCount(event.getViewCount());
+        dto.setCommentCount(event.getCommentCount());
+        return dto;
+    }
+
+    // A copy, never the cached instance itself, which other requests are reading
+    private static EventDto withCounters(EventDto cached, EventCounters counters) {
+        EventDto dto = new EventDto();
+        dto.setId(cached.getId());
+        dto.setTitle(cached.getTitle());
+        dto.setDescription(cached.getDescription());
+        dto.setStartsAt(cached.getStartsAt());
+        dto.setEndsAt(cached.getEndsAt());
+        dto.setLocationText(cached.getLocationText());
+        dto.setImageUrl(cached.getImageUrl());
+        dto.setLatitude(cached.getLatitude());
+        dto.setLongitude(cached.getLongitude());
+        dto.setCreatedBy(cached.getCreatedBy());
+        dto.setIsActive(cached.getIsActive());
+        dto.setCreatedAt(cached.getCreatedAt());
+        dto.setUpdatedAt(cached.getUpdatedAt());
+        dto.setArchived(cached.isArchived());
+        dto.setViewCount(counters.getViewCount());
+        dto.setCommentCount(counters.getCommentCount());
+        return dto;
+    }
+
+    private static EventDto toDto(ArchivedEventView view) {
+        EventDto dto = new EventDto();
+        dto.setId(view.getId());
+        dto.setTitle(view.getTitle());
+        dto.setDescription(view.getDescription());
+        dto.setStartsAt(view.getStartsAt());
+        dto.setEndsAt(view.getEndsAt());
+        dto.setLocationText(view.getLocationText());
+        dto.setImageUrl(view.getImageUrl());
+        dto.setLatitude(view.getLatitude());
+        dto.setLongitude(view.getLongitude());
+        dto.setCreatedBy(view.getCreatedBy());
+        dto.setIsActive(view.getIsActive());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setUpdatedAt(view.getUpdatedAt());
+        dto.setViewCount(view.getViewCount());
+        dto.setCommentCount(view.getCommentCount());
+        dto.setArchived(true);
+        return dto;
+    }
+
+    static Event toEntity(EventDto dto) {
         Event event = new Event();
         event.setTitle(dto.getTitle());
         event.setDescription(dto.getDescription());
@@ -52,21 +231,114 @@ public class EventService {
         event.setEndsAt(dto.getEndsAt());
         event.setLocationText(dto.getLocationText());
         event.setImageUrl(dto.getImageUrl());
+        event.setLatitude(dto.getLatitude());
+        event.setLongitude(dto.getLongitude());
         event.setCreatedBy(dto.getCreatedBy());
         event.setIsActive(dto.getIsActive());
         event.setCreatedAt(dto.getCreatedAt());
         event.setUpdatedAt(dto.getUpdatedAt());
+        return event;
+    }
+
+    private EventSummaryDto toSummary(EventSummaryView view) {
+        return new EventSummaryDto(
+                view.getId(),
+                view.getTitle(),
+                view.getStartsAt(),
+                view.getEndsAt(),
+                view.getLocationText(),
+                view.getImageUrl(),
+                view.getUpdatedAt(),
+                view.getViewCount(),
+                view.getCommentCount()
+        );
+    }
 
-        return eventRepository.save(event);
+    /**
+     * Detail lookup: the cached event overlaid with its counters from EventCounterCache, since those move
+     * on every view and comment without an eviction here. Archived events' counters no longer change.
+     */
+    @Transactional(readOnly = true)
+    public EventDto findById(Long id) {
+        EventDto cached = findCachedById(id);
+        if (cached == null || cached.isArchived()) {
+            return cached;
+        }
+        return eventCounterCache.get(id)
+                .map(counters -> withCounters(cached, counters))
+                .orElse(cached);
     }
+
+    /*
+     * The cache is filled by hand rather than through @Cacheable: a read that overlapped a committed
+     * write may have loaded the old row, so it takes back what it cached when the write epoch moved
+     * while it was loading.
+     */
+    private EventDto findCachedById(Long id) {
+        Cache cache = eventCache();
+        EventDto cached = cache.get(id, EventDto.class);
+        if (cached != null) {
+            return cached;
+        }
+        long epoch = cacheEpoch.get();
+        EventDto dto = eventRepository.findById(id).map(EventService::toDto)
+                .or(() -> eventRepository.findArchivedById(id).map(EventService::toDto))
+                .orElse(null);
+        if (dto != null) {
+            cache.putIfAbsent(id, dto);
+            if (cacheEpoch.get() != epoch) {
+                cache.evict(id);
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * Drops the given events from the detail cache once the current transaction commits (right away
+     * outside one), so no reader can re-cache the pre-commit row after the eviction.
+     */
+    public void evictAfterCommit(Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids);
+            }
+        });
+    }
+
+    private void evict(Collection<Long> ids) {
+        // Epoch first: a reader that put its row before this evict loses it here, one that puts after sees the new epoch
+        cacheEpoch.incrementAndGet();
+        Cache cache = eventCache();
+        ids.forEach(cache::evict);
+    }
+
+    private Cache eventCache() {
+        return Objects.requireNonNull(cacheManager.getCache(EVENT_CACHE), "cache " + EVENT_CACHE);
+    }
+
+    @Transactional
+    public Event saveEvent(EventDto dto) {
+        Event event = eventRepository.save(toEntity(dto));
+        evictAfterCommit(List.of(event.getId()));
+        return event;
+    }
+
+    @Transactional
     public void deleteEvent(Long id) {
         if (!eventRepository.existsById(id)) {
             throw new RuntimeException("Evento con id " + id + " no existe");
         }
         eventRepository.deleteById(id);
+        evictAfterCommit(List.of(id));
     }
 
 
+    @Transactional
     public EventDto updateEvent( EventDto dto) {
         Optional<Event> optionalEvent = eventRepository.findById(dto.getId());
 
@@ -81,30 +353,21 @@ public class EventService {
         event.setEndsAt(dto.getEndsAt());
         event.setLocationText(dto.getLocationText());
         event.setImageUrl(dto.getImageUrl());
+        event.setLatitude(dto.getLatitude());
+        event.setLongitude(dto.getLongitude());
         event.setIsActive(dto.getIsActive());
-        event.setUpdatedAt(dto.getUpdatedAt());
+        // server-side timestamp: it is the version behind the event ETag
+        event.setUpdatedAt(LocalDateTime.now());
         eventRepository.save(event);
+        evictAfterCommit(List.of(event.getId()));
 
+        dto.setUpdatedAt(event.getUpdatedAt());
         return dto;
     }
 
-    public List<EventDto> getEventsByUser(Long userId) {
-        List<Event> events = eventRepository.findByCreatedBy(userId);
-
-        return events.stream().map(event -> {
-            EventDto dto = new EventDto();
-            dto.setId(event.getId());
-            dto.setTitle(event.getTitle());
-            dto.setDescription(event.getDescription());
-            dto.setStartsAt(event.getStartsAt());
-            dto.setEndsAt(event.getEndsAt());
-            dto.setLocationText(event.getLocationText());
-            dto.setImageUrl(event.getImageUrl());
-            dto.setIsActive(event.getIsActive());
-            dto.setCreatedAt(event.getCreatedAt());
-            dto.setUpdatedAt(event.getUpdatedAt());
-            return dto;
-        }).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<EventSummaryDto> getEventsByUser(Long userId) {
+        return eventRepository.findSummariesByCreatedBy(userId);
     }
 
 }
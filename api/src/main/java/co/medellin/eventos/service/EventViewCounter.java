@@ -0,0 +1,67 @@
+package co.medellin.eventos.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Counts event detail views in memory and flushes the accumulated deltas to
+ * events.view_count in one JDBC batch every few seconds, so hot events never
+ * take a row lock per request. At most one flush interval of views is lost on a crash.
+ */
+@Component
+public class EventViewCounter {
+    private static final Logger log = LoggerFactory.getLogger(EventViewCounter.class);
+
+    private final CounterBuffer pending = new CounterBuffer();
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer flushTimer;
+    private volatile long lastFlushMillis = System.currentTimeMillis();
+
+    public EventViewCounter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTimer = Timer.builder("events.views.flush").register(meterRegistry);
+        Gauge.builder("events.views.pending", pending, CounterBuffer::size).register(meterRegistry);
+        Gauge.builder("events.views.flush.lag", this, c -> (System.currentTimeMillis() - c.lastFlushMillis) / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void record(Long eventId) {
+        pending.add(eventId, 1);
+    }
+
+    @Scheduled(fixedDelayString = "${events.views.flush-interval-ms:5000}")
+    public void flush() {
+        flushTimer.record(this::flushPending);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushPending() {
+        List<Object[]> batch = pending.drain();
+        if (batch.isEmpty()) {
+            lastFlushMillis = System.currentTimeMillis();
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate("UPDATE events SET view_count = view_count + ? WHERE id = ?", batch);
+            lastFlushMillis = System.currentTimeMillis();
+        } catch (DataAccessException e) {
+            log.warn("Could not flush {} event view counters, retrying next cycle", batch.size(), e);
+            pending.restore(batch);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.dto.CommentDto;
+import co.medellin.eventos.model.Comment;
+import co.medellin.eventos.repository.CommentRepository;
+import co.medellin.eventos.repository.EventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as NDJSON from a forward-only cursor, clearing the
+ * persistence context periodically so heap use does not grow with row count.
+ */
+@Service
+public class ExportService {
+    private static final int CLEAR_INTERVAL = 500;
+
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void exportEvents(OutputStream out) {
+        readOnlyTransaction().executeWithoutResult(status -> {
+            try (Stream<?> rows = eventRepository.streamAll().map(EventService::toDto)) {
+                write(rows, out);
+            }
+        });
+    }
+
+    public void exportComments(OutputStream out) {
+        readOnlyTransaction().executeWithoutResult(status -> {
+            try (Stream<?> rows = commentRepository.streamAll().map(ExportService::toExportDto)) {
+                write(rows, out);
+            }
+        });
+    }
+
+    // Deleted comments stay as placeholders so replies keep their parent, but without the removed text
+    private static CommentDto toExportDto(Comment comment) {
+        CommentDto dto = CommentService.toDto(comment);
+        if (comment.isDeleted()) {
+            dto.setContent(null);
+        }
+        return dto;
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private void write(Stream<?> rows, OutputStream out) {
+        try {
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+            long count = 0;
+            for (Iterator<?> it = rows.iterator(); it.hasNext(); ) {
+                writer.write(it.next());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.model.RefreshToken;
+import co.medellin.eventos.model.User;
+import co.medellin.eventos.repository.RefreshTokenRepository;
+import co.medellin.eventos.repository.UserRepository;
+import co.medellin.eventos.security.JwtService;
+import co.medellin.eventos.security.RevokedTokenRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Each refresh token is single use: presenting it revokes it
+ * and yields a successor in the same family. Presenting a revoked one is treated as theft and
+ * revokes the whole family, logging out every holder.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private RevokedTokenRegistry revokedTokenRegistry;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshExpirationMs;
+
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    }
+
+    // The rejections must commit the family revocation they trigger
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Rotation rotate(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw unauthorized("Invalid refresh token");
+        }
+        if (!jwtService.isRefreshToken(claims)) {
+            throw unauthorized("Not a refresh token");
+        }
+        String jti = claims.getId();
+        String familyId = claims.get(JwtService.FAMILY_CLAIM, String.class);
+        if (revokedTokenRegistry.isRevoked(jti)) {
+            throw reuseDetected(familyId);
+        }
+        String nextJti = UUID.randomUUID().toString();
+        int rotated = refreshTokenRepository.markRotated(jti, JwtService.tokenHash(refreshToken), nextJti,
+                LocalDateTime.now());
+        if (rotated == 0) {
+            // Lost a race with another use of the same token, or it was revoked on another node
+            throw reuseDetected(familyId);
+        }
+        revokedTokenRegistry.revokeAfterCommit(List.of(jti));
+
+        User user = userRepository.findById(claims.get(JwtService.USER_ID_CLAIM, Long.class))
+                .filter(User::isEnabled)
+                .orElseThrow(() -> unauthorized("User is not active"));
+        return new Rotation(user, issue(user, nextJti, familyId));
+    }
+
+    @Scheduled(cron = "${security.refresh.purge-cron:0 10 4 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired refresh tokens", purged);
+        revokedTokenRegistry.rebuild();
+    }
+
+    private String issue(User user, String jti, String familyId) {
+        LocalDateTime issuedAt = LocalDateTime.now();
+        LocalDateTime expiresAt = issuedAt.plusNanos(refreshExpirationMs * 1_000_000);
+        String token = jwtService.generateRefreshToken(user, jti, familyId,
+                Date.from(expiresAt.atZone(ZoneId.systemDefault()).toInstant()));
+
+        RefreshToken row = new RefreshToken();
+        row.setJti(jti);
+        row.setFamilyId(familyId);
+        row.setUserId(user.getId());
+        row.setTokenHash(JwtService.tokenHash(token));
+        row.setIssuedAt(issuedAt);
+        row.setExpiresAt(expiresAt);
+        // persist, not save(): the id is assigned, and merge would SELECT it first
+        entityManager.persist(row);
+        return token;
+    }
+
+    private ResponseStatusException reuseDetected(String familyId) {
+        if (familyId != null) {
+            refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+            revokedTokenRegistry.revokeAfterCommit(refreshTokenRepository.findJtisByFamily(familyId));
+        }
+        log.warn("Refresh token reuse detected, revoked family {}", familyId);
+        return unauthorized("Refresh token has already been used");
+    }
+
+    private static ResponseStatusException unauthorized(String reason) {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, reason);
+    }
+}
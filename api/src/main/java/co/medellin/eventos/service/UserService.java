@@ -1,19 +1,30 @@
 package co.medellin.eventos.service;
 
+import co.medellin.eventos.dto.CursorPage;
+import co.medellin.eventos.dto.UserSummary;
 import co.medellin.eventos.model.User;
 import co.medellin.eventos.repository.UserRepository;
+import co.medellin.eventos.security.UserStatusCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private UserStatusCache userStatusCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -21,10 +32,42 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
+    // Called by DaoAuthenticationProvider after a successful login when the stored hash needs upgrading
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPasswordHash) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+        user.setPasswordHash(newPasswordHash);
+        user.setUpdatedAt(LocalDateTime.now());
+        return save(user);
+    }
+
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Deactivation / role changes must reach token authentication before the cache TTL
+        userStatusCache.evict(saved.getId());
+        return saved;
+    }
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getDirectory(String cursor, int size, String query) {
+        String afterUsername = cursor == null || cursor.isBlank() ? "" : CursorCodec.decode(cursor, 1)[0];
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UserSummary> users = query == null || query.isBlank()
+                ? userRepository.findSummariesAfter(afterUsername, limit)
+                : userRepository.searchSummariesAfter(likePattern(query), afterUsername, limit);
+        String nextCursor = null;
+        if (users.size() > size) {
+            users = users.subList(0, size);
+            nextCursor = CursorCodec.encode(users.get(size - 1).getUsername());
+        }
+        return new CursorPage<>(users, nextCursor);
     }
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+
+    private static String likePattern(String query) {
+        String escaped = query.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
     }
 }
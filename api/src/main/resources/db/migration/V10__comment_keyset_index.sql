@@ -0,0 +1,2 @@
+-- Keyset pages of live comments per event, newest or oldest first
+CREATE INDEX idx_comments_event_live ON comments (event_id, created_at, id) INCLUDE (updated_at) WHERE NOT deleted;
@@ -0,0 +1,6 @@
+-- Denormalized count of live comments, maintained by CommentCountUpdater
+ALTER TABLE events ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE events e SET comment_count = s.live
+FROM (SELECT event_id, count(*) AS live FROM comments WHERE NOT deleted GROUP BY event_id) s
+WHERE s.event_id = e.id;
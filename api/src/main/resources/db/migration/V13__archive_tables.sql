@@ -0,0 +1,37 @@
+-- Cold storage for finished events and purged comments; no FKs so rows can outlive their parents
+CREATE TABLE events_archive (
+    id INTEGER PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description TEXT NOT NULL,
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP NOT NULL,
+    location_text VARCHAR(255) NOT NULL,
+    image_url VARCHAR(255),
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    created_by INTEGER NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    view_count BIGINT NOT NULL,
+    comment_count BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE comments_archive (
+    id INTEGER PRIMARY KEY,
+    content TEXT NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    author_id INTEGER NOT NULL,
+    event_id INTEGER NOT NULL,
+    parent_id INTEGER,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_comments_archive_event_id ON comments_archive (event_id);
+
+-- Candidate lookups for the archival job
+CREATE INDEX idx_comments_deleted_updated_at ON comments (updated_at, id) WHERE deleted;
+CREATE INDEX idx_events_ends_at ON events (ends_at, id);
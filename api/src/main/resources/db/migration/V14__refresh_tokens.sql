@@ -0,0 +1,18 @@
+-- One row per issued refresh token; only the SHA-256 of the token is stored
+CREATE TABLE refresh_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    family_id VARCHAR(36) NOT NULL,
+    user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token_hash VARCHAR(64) NOT NULL,
+    issued_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    replaced_by VARCHAR(36)
+);
+
+-- Reuse detection revokes a whole rotation chain
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+
+-- Startup rebuild of the in-memory revocation set, and expiry cleanup
+CREATE INDEX idx_refresh_tokens_revoked ON refresh_tokens (expires_at) WHERE revoked_at IS NOT NULL;
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
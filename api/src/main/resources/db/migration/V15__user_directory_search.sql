@@ -0,0 +1,5 @@
+-- Substring search on the user directory (lower(username) / lower(name) LIKE '%q%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX idx_users_name_trgm ON users USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,12 @@
+-- Grid cell of 0.01 degrees (about 1.1 km north-south) for GET /api/events/near.
+-- cell = lat_row * 36001 + lon_col; EventService.GEO_CELLS_PER_DEGREE and GEO_CELL_COLUMNS must match.
+-- A (latitude, longitude) B-tree only narrows on latitude, and a city's latitude band holds most of its events;
+-- a radius search instead scans one short geo_cell range per latitude row it covers.
+ALTER TABLE events ADD COLUMN geo_cell INTEGER GENERATED ALWAYS AS (
+    floor((latitude + 90) * 100)::integer * 36001 + floor((longitude + 180) * 100)::integer
+) STORED;
+
+DROP INDEX idx_events_active_lat_lon;
+-- Covering, so candidates are ranked by distance without touching the heap
+CREATE INDEX idx_events_active_geo_cell ON events (geo_cell) INCLUDE (id, latitude, longitude)
+    WHERE is_active AND geo_cell IS NOT NULL;
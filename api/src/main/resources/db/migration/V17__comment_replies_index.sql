@@ -0,0 +1,4 @@
+-- First replies of a comment in order, so the thread query can stop after its per-level cap
+-- instead of sorting every reply; still serves the parent_id FK
+DROP INDEX idx_comments_parent_id;
+CREATE INDEX idx_comments_parent_created ON comments (parent_id, created_at, id);
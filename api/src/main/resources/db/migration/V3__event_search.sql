@@ -0,0 +1,15 @@
+-- Full-text search over events (Spanish stemming + accent folding)
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE; generated columns and indexes need an IMMUTABLE wrapper
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent', $1) $$;
+
+ALTER TABLE events ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('spanish', f_unaccent(coalesce(title, ''))), 'A') ||
+    setweight(to_tsvector('spanish', f_unaccent(coalesce(location_text, ''))), 'B') ||
+    setweight(to_tsvector('spanish', f_unaccent(coalesce(description, ''))), 'C')
+) STORED;
+
+CREATE INDEX idx_events_search_vector ON events USING gin (search_vector);
@@ -0,0 +1,2 @@
+-- Supports keyset pagination ordered by (starts_at, id)
+CREATE INDEX idx_events_starts_at_id ON events (starts_at, id);
@@ -0,0 +1,5 @@
+-- Range queries over active events (upcoming, between, calendar counts)
+CREATE INDEX idx_events_active_starts_at ON events (starts_at, id) WHERE is_active;
+
+-- "Happening now": ends_at >= now prunes everything already finished
+CREATE INDEX idx_events_active_ends_at ON events (ends_at, id) WHERE is_active;
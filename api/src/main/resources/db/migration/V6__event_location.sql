@@ -0,0 +1,11 @@
+-- Optional coordinates for proximity search
+ALTER TABLE events ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE events ADD COLUMN longitude DOUBLE PRECISION;
+
+ALTER TABLE events ADD CONSTRAINT chk_events_coordinates CHECK (
+    (latitude IS NULL AND longitude IS NULL)
+    OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180)
+);
+
+-- Bounding-box prefilter for GET /api/events/near
+CREATE INDEX idx_events_active_lat_lon ON events (latitude, longitude) WHERE is_active AND latitude IS NOT NULL;
@@ -0,0 +1,2 @@
+-- Hibernate's pooled optimizer reserves 50 ids per nextval (Event allocationSize = 50)
+ALTER SEQUENCE events_id_seq INCREMENT BY 50;
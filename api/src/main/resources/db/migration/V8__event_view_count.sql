@@ -0,0 +1,2 @@
+-- Detail view counter, incremented in batches by EventViewCounter
+ALTER TABLE events ADD COLUMN view_count BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Top-level threads of an event, paged by (created_at, id)
+CREATE INDEX idx_comments_event_roots ON comments (event_id, created_at, id) WHERE parent_id IS NULL;
+
+-- Reply lookups in the recursive thread query (the FK alone has no index)
+CREATE INDEX idx_comments_parent_id ON comments (parent_id);
@@ -0,0 +1,72 @@
+package co.medellin.eventos.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void addedIdsAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<UUID> added = randomIds(10_000);
+        added.forEach(filter::add);
+
+        assertThat(added).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        randomIds(10_000).forEach(filter::add);
+
+        long falsePositives = randomIds(100_000).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void concurrentAddsSharingWordsAreNotLost() throws Exception {
+        // Small filter, so the writers keep racing on the same words
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        int writers = 8;
+        List<List<UUID>> perWriter = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            perWriter.add(randomIds(2_000));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (List<UUID> ids : perWriter) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ids.forEach(filter::add);
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(perWriter).allSatisfy(ids -> assertThat(ids).allMatch(filter::mightContain));
+    }
+
+    private static List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,79 @@
+package co.medellin.eventos.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void fullQueueIsRejectedAtOnce() {
+        executor = new PasswordHashingExecutor(1, 1, 1, Duration.ofMinutes(1), meterRegistry);
+        executor.submit(this::blockUntilReleased);
+        executor.submit(() -> "queued");
+
+        assertThatThrownBy(() -> executor.submit(() -> "rejected"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(meterRegistry.counter("security.bcrypt.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void workThatWaitedTooLongIsAnsweredBusyWithoutRunning() throws Exception {
+        executor = new PasswordHashingExecutor(1, 1, 1, Duration.ofMillis(50), meterRegistry);
+        executor.submit(this::blockUntilReleased);
+        CompletableFuture<String> stale = executor.submit(() -> "hashed");
+
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> stale.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(meterRegistry.counter("security.bcrypt.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void taskFailureReachesTheCaller() {
+        executor = new PasswordHashingExecutor(1, 1, 1, Duration.ofMinutes(1), meterRegistry);
+
+        CompletableFuture<String> failed = executor.submit(() -> {
+            throw new IllegalStateException("bad credentials");
+        });
+
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .cause()
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private String blockUntilReleased() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "slow";
+    }
+}
@@ -0,0 +1,96 @@
+package co.medellin.eventos.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    // nanoTime has an arbitrary origin and may well be negative
+    private static final long START = -42 * SECOND;
+
+    @Test
+    void fullBurstIsAllowedThenTheNextWaitsOneInterval() {
+        RateLimiter limiter = new RateLimiter(5, 60);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(START)).isZero();
+        }
+        assertThat(limiter.tryAcquire(START)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsAtTheSustainedRate() {
+        RateLimiter limiter = new RateLimiter(5, 60);
+        drain(limiter, 5, START);
+
+        assertThat(limiter.tryAcquire(START + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(limiter.tryAcquire(START + SECOND)).isZero();
+        assertThat(limiter.tryAcquire(START + SECOND)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire(START + 3 * SECOND)).isZero();
+        assertThat(limiter.tryAcquire(START + 3 * SECOND)).isZero();
+        assertThat(limiter.tryAcquire(START + 3 * SECOND)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void idleTimeNeverBanksMoreThanTheCapacity() {
+        RateLimiter limiter = new RateLimiter(5, 60);
+        drain(limiter, 5, START);
+
+        long later = START + TimeUnit.HOURS.toNanos(1);
+        drain(limiter, 5, later);
+        assertThat(limiter.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void rejectedRequestsDoNotPushTheWindowBack() {
+        RateLimiter limiter = new RateLimiter(2, 60);
+        drain(limiter, 2, START);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire(START + i)).isPositive();
+        }
+        assertThat(limiter.tryAcquire(START + SECOND)).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverGetMoreThanTheBurst() throws Exception {
+        RateLimiter limiter = new RateLimiter(50, 60);
+        int callers = 8;
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < callers; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 1_000; j++) {
+                    if (limiter.tryAcquire(START) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed).hasValue(50);
+    }
+
+    private static void drain(RateLimiter limiter, int permits, long now) {
+        for (int i = 0; i < permits; i++) {
+            assertThat(limiter.tryAcquire(now)).isZero();
+        }
+    }
+}
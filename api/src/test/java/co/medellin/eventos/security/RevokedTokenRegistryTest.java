@@ -0,0 +1,142 @@
+package co.medellin.eventos.security;
+
+import co.medellin.eventos.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RevokedTokenRegistryTest {
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void neverRevokedTokenIsAnsweredWithoutTheDatabase() {
+        RevokedTokenRegistry registry = registry(1_000);
+
+        assertThat(registry.isRevoked(jti())).isFalse();
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void revokedTokenIsRevoked() {
+        RevokedTokenRegistry registry = registry(1_000);
+        String jti = jti();
+
+        registry.revoke(List.of(jti));
+
+        assertThat(registry.isRevoked(jti)).isTrue();
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    void malformedJtiIsTreatedAsRevoked() {
+        RevokedTokenRegistry registry = registry(1_000);
+
+        assertThat(registry.isRevoked("not-a-uuid")).isTrue();
+        assertThat(registry.isRevoked(null)).isTrue();
+    }
+
+    @Test
+    void overflowedExactSetFallsBackToTheDatabase() {
+        RevokedTokenRegistry registry = registry(1);
+        String kept = jti();
+        String overflowed = jti();
+        when(refreshTokenRepository.isRevoked(overflowed)).thenReturn(true);
+
+        registry.revoke(List.of(kept, overflowed));
+
+        assertThat(registry.isRevoked(kept)).isTrue();
+        assertThat(registry.isRevoked(overflowed)).isTrue();
+        verify(refreshTokenRepository, never()).isRevoked(kept);
+        verify(refreshTokenRepository).isRevoked(overflowed);
+    }
+
+    @Test
+    void rebuildLoadsRevokedTokensFromTheDatabase() {
+        RevokedTokenRegistry registry = registry(1_000);
+        String jti = jti();
+        when(refreshTokenRepository.findRevokedJtis(any())).thenReturn(List.of(jti));
+
+        registry.rebuild();
+
+        assertThat(registry.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void revocationDuringARebuildQuerySurvivesTheRebuild() {
+        RevokedTokenRegistry registry = registry(1_000);
+        String jti = jti();
+        // Committed after the query's snapshot, so only revoke() knows about it
+        when(refreshTokenRepository.findRevokedJtis(any())).thenAnswer(inv -> {
+            registry.revoke(List.of(jti));
+            return List.of();
+        });
+
+        registry.rebuild();
+
+        assertThat(registry.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void revokeAfterCommitWaitsForTheCommit() {
+        RevokedTokenRegistry registry = registry(1_000);
+        String jti = jti();
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.revokeAfterCommit(List.of(jti));
+        assertThat(registry.isRevoked(jti)).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(registry.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void revokeAfterCommitIsDroppedOnRollback() {
+        RevokedTokenRegistry registry = registry(1_000);
+        String jti = jti();
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.revokeAfterCommit(List.of(jti));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(registry.isRevoked(jti)).isFalse();
+    }
+
+    @Test
+    void revokeAfterCommitOutsideATransactionRevokesAtOnce() {
+        RevokedTokenRegistry registry = registry(1_000);
+        String jti = jti();
+
+        registry.revokeAfterCommit(List.of(jti));
+
+        assertThat(registry.isRevoked(jti)).isTrue();
+    }
+
+    private RevokedTokenRegistry registry(int maxExact) {
+        return new RevokedTokenRegistry(refreshTokenRepository, 1_000, maxExact, new SimpleMeterRegistry());
+    }
+
+    private static String jti() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,69 @@
+package co.medellin.eventos.security;
+
+import co.medellin.eventos.repository.UserRepository;
+import co.medellin.eventos.repository.UserStatusView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStatusCacheTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserStatusCache cache = new UserStatusCache(userRepository, Duration.ofMinutes(1), 100);
+
+    @Test
+    void statusIsQueriedOnceUntilEvicted() {
+        when(userRepository.findStatusById(7L)).thenReturn(Optional.of(view(true, "USER")));
+
+        cache.get(7L);
+        assertThat(cache.get(7L)).isEqualTo(new UserStatusCache.UserStatus(true, "USER"));
+        verify(userRepository, times(1)).findStatusById(7L);
+
+        cache.evict(7L);
+        cache.get(7L);
+        verify(userRepository, times(2)).findStatusById(7L);
+    }
+
+    @Test
+    void unknownUserIsCachedAsInactive() {
+        when(userRepository.findStatusById(7L)).thenReturn(Optional.empty());
+
+        assertThat(cache.get(7L).active()).isFalse();
+    }
+
+    @Test
+    void loadOverlappingAnEvictionDoesNotCacheTheOldStatus() {
+        // The user is deactivated (and evicted) while a request is still reading the active row
+        when(userRepository.findStatusById(7L))
+                .thenAnswer(invocation -> {
+                    cache.evict(7L);
+                    return Optional.of(view(true, "USER"));
+                })
+                .thenReturn(Optional.of(view(false, "USER")));
+
+        cache.get(7L);
+
+        assertThat(cache.get(7L).active()).isFalse();
+        verify(userRepository, times(2)).findStatusById(7L);
+    }
+
+    private static UserStatusView view(boolean active, String role) {
+        return new UserStatusView() {
+            @Override
+            public Boolean getIsActive() {
+                return active;
+            }
+
+            @Override
+            public String getRole() {
+                return role;
+            }
+        };
+    }
+}
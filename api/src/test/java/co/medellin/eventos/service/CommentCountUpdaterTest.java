@@ -0,0 +1,75 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.dto.CommentDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentCountUpdaterTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CommentCountUpdater updater = new CommentCountUpdater(jdbcTemplate, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(updater, "reconcileChunkSize", 10);
+    }
+
+    @Test
+    void flushAppliesCoalescedDeltas() {
+        updater.onCommentChange(created(3L));
+        updater.onCommentChange(created(3L));
+        updater.onCommentChange(deleted(12L));
+
+        updater.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).containsExactly(new Object[]{2L, 3L}, new Object[]{-1L, 12L});
+    }
+
+    @Test
+    void deltaCommittedBeforeARangeRecountIsNotAppliedAgain() {
+        // Committed after reconcile's own flush, so only the recount of their ranges sees them
+        when(jdbcTemplate.queryForObject("SELECT max(id) FROM events", Long.class)).thenAnswer(inv -> {
+            updater.onCommentChange(created(3L));
+            updater.onCommentChange(created(15L));
+            return 25L;
+        });
+
+        updater.reconcile();
+        updater.flush();
+
+        verify(jdbcTemplate, times(3)).update(anyString(), anyLong(), anyLong());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private static CommentChange created(Long eventId) {
+        return change(CommentChange.Type.CREATED, eventId);
+    }
+
+    private static CommentChange deleted(Long eventId) {
+        return change(CommentChange.Type.DELETED, eventId);
+    }
+
+    private static CommentChange change(CommentChange.Type type, Long eventId) {
+        CommentDto dto = new CommentDto();
+        dto.setEventId(eventId);
+        return new CommentChange(type, dto);
+    }
+}
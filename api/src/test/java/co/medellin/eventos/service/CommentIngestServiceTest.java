@@ -0,0 +1,146 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.dto.CommentDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentIngestServiceTest {
+    private final CommentService commentService = mock(CommentService.class);
+    private final AtomicLong ids = new AtomicLong();
+    private CommentIngestService ingest;
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (ingest != null) {
+            ingest.stop();
+        }
+    }
+
+    @Test
+    void directModeWritesInTheCallersTransaction() throws Exception {
+        when(commentService.createComment(any())).thenAnswer(inv -> saved(inv.getArgument(0)));
+        ingest = ingest("direct", 10);
+        ingest.start();
+
+        CommentDto created = ingest.submit(comment("hola")).get();
+
+        assertThat(created.getId()).isEqualTo(1L);
+        verify(commentService).createComment(any());
+        verify(commentService, never()).createComments(anyList());
+    }
+
+    @Test
+    void batchedModeGroupCommitsAndAnswersEachCaller() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(commentService.createComments(anyList())).thenAnswer(inv -> {
+            List<CommentDto> dtos = inv.getArgument(0);
+            batchSizes.add(dtos.size());
+            return dtos.stream().map(this::saved).toList();
+        });
+        ingest = ingest("batched", 100);
+        List<CompletableFuture<CommentDto>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(ingest.submit(comment("comentario " + i)));
+        }
+        // Queued before the writer starts, so they can only go out as one group
+        ingest.start();
+
+        for (int i = 0; i < results.size(); i++) {
+            CommentDto created = results.get(i).get(5, TimeUnit.SECONDS);
+            assertThat(created.getContent()).isEqualTo("comentario " + i);
+            assertThat(created.getId()).isNotNull();
+        }
+        assertThat(batchSizes).containsExactly(50);
+    }
+
+    @Test
+    void failedGroupIsRetriedRowByRowSoOnlyTheBadCommentFails() throws Exception {
+        ResponseStatusException badParent = new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parent comment not found");
+        when(commentService.createComments(anyList())).thenThrow(badParent);
+        when(commentService.createComment(any())).thenAnswer(inv -> {
+            CommentDto dto = inv.getArgument(0);
+            if (dto.getParentId() != null) {
+                throw badParent;
+            }
+            return saved(dto);
+        });
+        ingest = ingest("batched", 100);
+        CompletableFuture<CommentDto> good = ingest.submit(comment("bien"));
+        CommentDto reply = comment("respuesta");
+        reply.setParentId(404L);
+        CompletableFuture<CommentDto> bad = ingest.submit(reply);
+        ingest.start();
+
+        assertThat(good.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("bien");
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(badParent);
+        verify(commentService, atMost(1)).createComments(anyList());
+    }
+
+    @Test
+    void fullQueueIsTooManyRequests() {
+        ingest = ingest("batched", 1);
+        ingest.submit(comment("primero"));
+
+        assertThatThrownBy(() -> ingest.submit(comment("segundo")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+    @Test
+    void stopWritesWhatIsStillQueued() throws Exception {
+        when(commentService.createComments(anyList())).thenAnswer(inv ->
+                inv.<List<CommentDto>>getArgument(0).stream().map(this::saved).toList());
+        ingest = ingest("batched", 10);
+        CompletableFuture<CommentDto> queued = ingest.submit(comment("antes de apagar"));
+        ingest.start();
+        ingest.stop();
+
+        assertThat(queued).isCompleted();
+        assertThat(queued.get().getId()).isNotNull();
+        assertThatThrownBy(() -> ingest.submit(comment("después")))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private CommentIngestService ingest(String mode, int queueCapacity) {
+        return new CommentIngestService(commentService, new SimpleMeterRegistry(), mode, queueCapacity, 200, 10);
+    }
+
+    private CommentDto saved(CommentDto dto) {
+        CommentDto created = new CommentDto();
+        created.setId(ids.incrementAndGet());
+        created.setContent(dto.getContent());
+        created.setEventId(dto.getEventId());
+        created.setParentId(dto.getParentId());
+        return created;
+    }
+
+    private static CommentDto comment(String content) {
+        CommentDto dto = new CommentDto();
+        dto.setContent(content);
+        dto.setAuthorId(7L);
+        dto.setEventId(1L);
+        return dto;
+    }
+}
@@ -0,0 +1,114 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.dto.CommentDto;
+import co.medellin.eventos.dto.CommentNodeDto;
+import co.medellin.eventos.dto.CursorPage;
+import co.medellin.eventos.model.Comment;
+import co.medellin.eventos.repository.CommentRepository;
+import co.medellin.eventos.repository.CommentTreeRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CommentServiceTest {
+    private final CommentRepository commentRepository = mock(CommentRepository.class);
+    private final CommentService commentService =
+            new CommentService(commentRepository, mock(ApplicationEventPublisher.class));
+
+    @Test
+    void malformedCursorPartsAreBadRequest() {
+        String badDate = CursorCodec.encode("yesterday", 1L);
+        String badId = CursorCodec.encode("2026-01-01T10:00", "one");
+
+        assertBadRequest(() -> commentService.getCommentsByEvent(1L, badDate, 20, true));
+        assertBadRequest(() -> commentService.getCommentsByEvent(1L, badId, 20, false));
+        assertBadRequest(() -> commentService.getThreads(1L, badId, 20, 5, 20));
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void overflowRowsBecomeMarkersInsteadOfNodes() {
+        List<CommentTreeRow> rows = List.of(
+                row(10L, null, 0, false),
+                row(20L, null, 0, false),
+                row(30L, null, 0, true),
+                row(11L, 10L, 1, false),
+                row(12L, 10L, 1, true));
+        when(commentRepository.findThreads(eq(1L), any(), anyLong(), eq(2), eq(5), eq(1))).thenReturn(rows);
+
+        CursorPage<CommentNodeDto> page = commentService.getThreads(1L, null, 2, 5, 1);
+
+        assertThat(page.getItems()).extracting(CommentNodeDto::getId).containsExactly(10L, 20L);
+        assertThat(page.getNextCursor()).isNotNull();
+        CommentNodeDto capped = page.getItems().get(0);
+        assertThat(capped.getReplies()).extracting(CommentNodeDto::getId).containsExactly(11L);
+        assertThat(capped.isMoreReplies()).isTrue();
+        assertThat(page.getItems().get(1).isMoreReplies()).isFalse();
+    }
+
+    @Test
+    void lastPageOfThreadsHasNoCursor() {
+        List<CommentTreeRow> rows = List.of(row(10L, null, 0, false));
+        when(commentRepository.findThreads(eq(1L), any(), anyLong(), eq(2), eq(5), eq(20))).thenReturn(rows);
+
+        assertThat(commentService.getThreads(1L, null, 2, 5, 20).getNextCursor()).isNull();
+    }
+
+    @Test
+    void createdCommentsAreStampedByTheServer() {
+        when(commentRepository.save(any(Comment.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(commentRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        LocalDateTime before = LocalDateTime.now();
+
+        CommentDto withoutTimestamps = comment(null);
+        CommentDto backdated = comment(LocalDateTime.of(2001, 1, 1, 0, 0));
+        List<CommentDto> created = new ArrayList<>(commentService.createComments(List.of(withoutTimestamps, backdated)));
+        created.add(commentService.createComment(comment(null)));
+
+        assertThat(created).allSatisfy(dto -> {
+            assertThat(dto.getCreatedAt()).isAfterOrEqualTo(before);
+            assertThat(dto.getUpdatedAt()).isEqualTo(dto.getCreatedAt());
+        });
+    }
+
+    private static CommentDto comment(LocalDateTime clientTimestamp) {
+        CommentDto dto = new CommentDto();
+        dto.setContent("¡Allá nos vemos!");
+        dto.setAuthorId(7L);
+        dto.setEventId(1L);
+        dto.setCreatedAt(clientTimestamp);
+        dto.setUpdatedAt(clientTimestamp);
+        return dto;
+    }
+
+    private static CommentTreeRow row(Long id, Long parentId, int depth, boolean overflow) {
+        CommentTreeRow row = mock(CommentTreeRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getParentId()).thenReturn(parentId);
+        when(row.getDepth()).thenReturn(depth);
+        when(row.getOverflow()).thenReturn(overflow);
+        when(row.getCreatedAt()).thenReturn(LocalDateTime.of(2026, 10, 1, 9, 0).plusMinutes(id));
+        return row;
+    }
+
+    private static void assertBadRequest(Runnable call) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
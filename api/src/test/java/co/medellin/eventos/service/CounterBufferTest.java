@@ -0,0 +1,91 @@
+package co.medellin.eventos.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CounterBufferTest {
+    private final CounterBuffer buffer = new CounterBuffer();
+
+    @Test
+    void drainCoalescesPerEventInIdOrderAndEmptiesTheBuffer() {
+        buffer.add(9L, 1);
+        buffer.add(2L, 1);
+        buffer.add(9L, 2);
+        buffer.add(5L, 1);
+        buffer.add(5L, -1);
+
+        assertThat(buffer.drain()).containsExactly(new Object[]{1L, 2L}, new Object[]{3L, 9L});
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    @Test
+    void restoredBatchIsMergedWithNewDeltas() {
+        buffer.add(1L, 4);
+        List<Object[]> failed = buffer.drain();
+        buffer.add(1L, 1);
+
+        buffer.restore(failed);
+
+        assertThat(buffer.drain()).containsExactly(new Object[]{5L, 1L});
+    }
+
+    @Test
+    void discardOnlyDropsTheGivenRange() {
+        buffer.add(10L, 1);
+        buffer.add(11L, 1);
+        buffer.add(20L, 1);
+        buffer.add(21L, 1);
+
+        assertThat(buffer.discard(10, 20)).isEqualTo(2);
+
+        assertThat(buffer.drain()).containsExactly(new Object[]{1L, 10L}, new Object[]{1L, 21L});
+    }
+
+    @Test
+    void noDeltaIsLostToConcurrentDrains() throws Exception {
+        int writers = 8;
+        int addsPerWriter = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Object[]> drained = new ArrayList<>();
+        try {
+            for (int w = 0; w < writers; w++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    // few keys, so drains keep removing entries that writers are about to hit
+                    for (int i = 0; i < addsPerWriter; i++) {
+                        buffer.add((long) (i % 4), 1);
+                    }
+                });
+            }
+            pool.shutdown();
+            start.countDown();
+            while (writing.get()) {
+                drained.addAll(buffer.drain());
+                writing.set(!pool.awaitTermination(0, TimeUnit.MILLISECONDS));
+            }
+            drained.addAll(buffer.drain());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long total = drained.stream().mapToLong(row -> (Long) row[0]).sum();
+        assertThat(total).isEqualTo((long) writers * addsPerWriter);
+    }
+}
@@ -0,0 +1,57 @@
+package co.medellin.eventos.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsKeysetPosition() {
+        LocalDateTime startsAt = LocalDateTime.of(2026, 3, 14, 18, 30, 5, 123_000_000);
+        String cursor = CursorCodec.encode(startsAt, 42L);
+
+        String[] parts = CursorCodec.decode(cursor, 2);
+
+        assertThat(LocalDateTime.parse(parts[0])).isEqualTo(startsAt);
+        assertThat(Long.parseLong(parts[1])).isEqualTo(42L);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String cursor = CursorCodec.encode("??>>", "~~~");
+
+        assertThat(cursor).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void lastPartMayContainSeparator() {
+        String cursor = CursorCodec.encode("a|b|c");
+
+        assertThat(CursorCodec.decode(cursor, 1)).containsExactly("a|b|c");
+        assertThat(CursorCodec.decode(CursorCodec.encode(7, "x|y"), 2)).containsExactly("7", "x|y");
+    }
+
+    @Test
+    void rejectsNonBase64AsBadRequest() {
+        assertThatThrownBy(() -> CursorCodec.decode("not base64!", 2))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void rejectsWrongNumberOfPartsAsBadRequest() {
+        String oneField = Base64.getUrlEncoder().encodeToString("2026-01-01T00:00".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CursorCodec.decode(oneField, 2))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
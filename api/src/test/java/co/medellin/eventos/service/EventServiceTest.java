@@ -0,0 +1,209 @@
+package co.medellin.eventos.service;
+
+import co.medellin.eventos.dto.EventDto;
+import co.medellin.eventos.model.Event;
+import co.medellin.eventos.repository.EventCounters;
+import co.medellin.eventos.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventServiceTest {
+    private static final long EVENT_ID = 1L;
+
+    // The committed row, as the mocked repository sees it
+    private final AtomicReference<Event> row = new AtomicReference<>();
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(EventService.EVENT_CACHE);
+    private final EventService eventService = new EventService();
+
+    @BeforeEach
+    void setUp() {
+        row.set(event("Concierto en el Parque"));
+        when(eventRepository.findById(anyLong())).thenAnswer(inv -> Optional.of(copy(row.get())));
+        when(eventRepository.findArchivedById(anyLong())).thenReturn(Optional.empty());
+        when(eventRepository.findCountersById(anyLong())).thenAnswer(inv -> Optional.of(counters(row.get())));
+        when(eventRepository.save(any(Event.class))).thenAnswer(inv -> {
+            row.set(copy(inv.getArgument(0)));
+            return inv.getArgument(0);
+        });
+        ReflectionTestUtils.setField(eventService, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(eventService, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(eventService, "eventCounterCache",
+                new EventCounterCache(eventRepository, Duration.ofMinutes(1), 100));
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void readerThatLoadedTheOldRowCannotCacheItPastAnUpdate() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        when(eventRepository.findById(anyLong())).thenAnswer(inv -> {
+            Event snapshot = copy(row.get());
+            if (Thread.currentThread().getName().equals("slow-reader")) {
+                // Hold the old row until the update has committed and evicted
+                loaded.countDown();
+                updated.await(5, TimeUnit.SECONDS);
+            }
+            return Optional.of(snapshot);
+        });
+        CompletableFuture<EventDto> slowRead = new CompletableFuture<>();
+        Thread reader = new Thread(() -> slowRead.complete(eventService.findById(EVENT_ID)), "slow-reader");
+        reader.start();
+        assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+
+        eventService.updateEvent(update("Concierto cancelado"));
+        updated.countDown();
+        reader.join(5000);
+
+        assertThat(slowRead.get(5, TimeUnit.SECONDS).getTitle()).isEqualTo("Concierto en el Parque");
+        assertThat(eventService.findById(EVENT_ID).getTitle()).isEqualTo("Concierto cancelado");
+    }
+
+    @Test
+    void updateEvictsOnlyOnceCommitted() {
+        assertThat(eventService.findById(EVENT_ID).getTitle()).isEqualTo("Concierto en el Parque");
+
+        TransactionSynchronizationManager.initSynchronization();
+        eventService.updateEvent(update("Concierto cancelado"));
+        assertThat(cached()).isNotNull();
+
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(cached()).isNull();
+        assertThat(eventService.findById(EVENT_ID).getTitle()).isEqualTo("Concierto cancelado");
+    }
+
+    @Test
+    void cachedReadSkipsTheRepository() {
+        eventService.findById(EVENT_ID);
+        row.set(event("Cambiado por detrás"));
+
+        assertThat(eventService.findById(EVENT_ID).getTitle()).isEqualTo("Concierto en el Parque");
+        verify(eventRepository, times(1)).findById(EVENT_ID);
+        verify(eventRepository, times(1)).findCountersById(EVENT_ID);
+    }
+
+    @Test
+    void cachedReadServesCurrentCounters() {
+        // Counters expire at once here; the production TTL bounds how stale they may get
+        ReflectionTestUtils.setField(eventService, "eventCounterCache",
+                new EventCounterCache(eventRepository, Duration.ZERO, 100));
+        EventDto first = eventService.findById(EVENT_ID);
+        Event viewed = copy(row.get());
+        viewed.setViewCount(41);
+        viewed.setCommentCount(3);
+        row.set(viewed);
+
+        EventDto second = eventService.findById(EVENT_ID);
+        assertThat(second.getViewCount()).isEqualTo(41);
+        assertThat(second.getCommentCount()).isEqualTo(3);
+        assertThat(first.getViewCount()).isZero();
+        assertThat(cached()).isNotNull();
+    }
+
+    private Cache.ValueWrapper cached() {
+        return cacheManager.getCache(EventService.EVENT_CACHE).get(EVENT_ID);
+    }
+
+    @Test
+    void nearbyBoundingBoxCoversTheWholeCircle() {
+        double lat = 60;
+        double lon = -75;
+        double radiusKm = 500;
+        int[] cells = new int[4];
+        when(eventRepository.findNearby(anyDouble(), anyDouble(), anyDouble(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                anyDouble(), anyLong(), anyInt())).thenAnswer(inv -> {
+                    cells[0] = inv.getArgument(3);
+                    cells[1] = inv.getArgument(4);
+                    cells[2] = inv.getArgument(6);
+                    cells[3] = inv.getArgument(7);
+                    return List.of();
+                });
+
+        eventService.findNearby(lat, lon, radiusKm, null, 10);
+
+        // Northernmost point, and the easternmost one, which lies north of the centre's latitude
+        double d = radiusKm / EventRepository.EARTH_RADIUS_KM;
+        int northRow = (int) Math.floor((lat + Math.toDegrees(d) + 90) * 100);
+        int eastCol = (int) Math.floor((lon + Math.toDegrees(Math.asin(Math.sin(d) / Math.cos(Math.toRadians(lat)))) + 180) * 100);
+        assertThat(cells[1] / 36001).isGreaterThanOrEqualTo(northRow);
+        assertThat(cells[3]).isGreaterThanOrEqualTo(eastCol);
+    }
+
+    private static EventCounters counters(Event event) {
+        long views = event.getViewCount();
+        long comments = event.getCommentCount();
+        return new EventCounters() {
+            @Override
+            public long getViewCount() {
+                return views;
+            }
+
+            @Override
+            public long getCommentCount() {
+                return comments;
+            }
+        };
+    }
+
+    private static EventDto update(String title) {
+        EventDto dto = EventService.toDto(event(title));
+        dto.setUpdatedAt(null);
+        return dto;
+    }
+
+    private static Event event(String title) {
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        event.setTitle(title);
+        event.setDescription("Descripción");
+        event.setStartsAt(LocalDateTime.of(2026, 11, 1, 19, 0));
+        event.setEndsAt(LocalDateTime.of(2026, 11, 1, 22, 0));
+        event.setLocationText("Parque de los Deseos");
+        event.setCreatedBy(7L);
+        event.setIsActive(true);
+        event.setCreatedAt(LocalDateTime.of(2026, 10, 1, 9, 0));
+        event.setUpdatedAt(LocalDateTime.of(2026, 10, 1, 9, 0));
+        return event;
+    }
+
+    private static Event copy(Event source) {
+        Event event = EventService.toEntity(EventService.toDto(source));
+        event.setId(source.getId());
+        event.setViewCount(source.getViewCount());
+        event.setCommentCount(source.getCommentCount());
+        return event;
+    }
+}